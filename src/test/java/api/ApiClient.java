@@ -5,7 +5,6 @@ import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
@@ -17,84 +16,130 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Map;
 
+/**
+ * REST client with its own request and response specifications.
+ * Nothing is written to RestAssured's static defaults, so clients with different
+ * settings can be used from many threads at once. All clients share one
+ * keep-alive connection pool, see {@link HttpConnectionPool}.
+ * Clients built without exchange reporting skip the Allure and logging filters,
+ * for load runs that send thousands of requests.
+ */
 public class ApiClient {
 
     private static final Logger logger = LogManager.getLogger(ApiClient.class);
     private final RequestSpecification requestSpec;
     private final ResponseSpecification responseSpec;
+    private final boolean reportExchanges;
 
     public ApiClient() {
-        String baseUri = Config.getProperty("api.base.url", "https://api.example.com");
+        this(Config.getProperty("api.base.url", "https://api.example.com"));
+    }
+
+    public ApiClient(String baseUri) {
+        this(baseUri, true);
+    }
+
+    /**
+     * @param baseUri         Base URI of the API
+     * @param reportExchanges Whether requests are attached to Allure, logged and buffered for failures
+     */
+    public ApiClient(String baseUri, boolean reportExchanges) {
+        this.reportExchanges = reportExchanges;
         int timeout = Config.getIntProperty("api.timeout", 30000);
 
         RestAssuredConfig config = RestAssuredConfig.config()
-                .httpClient(HttpClientConfig.httpClientConfig()
-                        .setParam("http.connection.timeout", timeout)
-                        .setParam("http.socket.timeout", timeout));
+                .httpClient(HttpConnectionPool.httpClientConfig(timeout));
 
-        requestSpec = new RequestSpecBuilder()
+        RequestSpecBuilder request = new RequestSpecBuilder()
                 .setBaseUri(baseUri)
                 .setContentType(ContentType.JSON)
-                .setConfig(config)
-                .addFilter(new AllureRestAssured())
-                .log(LogDetail.ALL)
-                .build();
+                .setConfig(config);
+        ResponseSpecBuilder response = new ResponseSpecBuilder();
+
+        // api.log.mode=all prints every exchange; the default keeps them in memory until a test fails
+        if (!reportExchanges) {
+            // Without a reporting filter nothing reads the body, which would keep the pooled connection leased
+            request.addFilter((filterRequest, filterResponse, context) -> {
+                Response sent = context.next(filterRequest, filterResponse);
+                sent.asByteArray();
+                return sent;
+            });
+        } else if ("all".equalsIgnoreCase(Config.getProperty("api.log.mode", "buffered"))) {
+            request.addFilter(new AllureRestAssured());
+            request.log(LogDetail.ALL);
+            response.log(LogDetail.ALL);
+        } else {
+            request.addFilter(new AllureRestAssured());
+            request.addFilter(new BufferedLoggingFilter());
+        }
+
+        requestSpec = request.build();
+        responseSpec = response.build();
 
-        responseSpec = new ResponseSpecBuilder()
-                .log(LogDetail.ALL)
-                .build();
-
-        RestAssured.requestSpecification = requestSpec;
-        RestAssured.responseSpecification = responseSpec;
         logger.info("API Client initialized with base URI: {}", baseUri);
     }
 
     public Response get(String endpoint) {
-        logger.info("GET {}", endpoint);
-        return RestAssured.given().get(endpoint);
+        logRequest("GET {}", endpoint);
+        return given().get(endpoint);
     }
 
     public Response get(String endpoint, Map<String, String> queryParams) {
-        logger.info("GET {} with params: {}", endpoint, queryParams);
-        return RestAssured.given().queryParams(queryParams).get(endpoint);
+        logRequest("GET {} with params: {}", endpoint, queryParams);
+        return given().queryParams(queryParams).get(endpoint);
     }
 
     public Response post(String endpoint, Object body) {
-        logger.info("POST {}", endpoint);
-        return RestAssured.given().body(body).post(endpoint);
+        logRequest("POST {}", endpoint);
+        return given().body(body).post(endpoint);
     }
 
     public Response put(String endpoint, Object body) {
-        logger.info("PUT {}", endpoint);
-        return RestAssured.given().body(body).put(endpoint);
+        logRequest("PUT {}", endpoint);
+        return given().body(body).put(endpoint);
     }
 
     public Response patch(String endpoint, Object body) {
-        logger.info("PATCH {}", endpoint);
-        return RestAssured.given().body(body).patch(endpoint);
+        logRequest("PATCH {}", endpoint);
+        return given().body(body).patch(endpoint);
     }
 
     public Response delete(String endpoint) {
-        logger.info("DELETE {}", endpoint);
-        return RestAssured.given().delete(endpoint);
+        logRequest("DELETE {}", endpoint);
+        return given().delete(endpoint);
     }
 
     public Response getWithAuth(String endpoint, String token) {
-        logger.info("GET {} with auth", endpoint);
-        return RestAssured.given()
+        logRequest("GET {} with auth", endpoint);
+        return given()
                 .header("Authorization", "Bearer " + token)
                 .get(endpoint);
     }
 
     public Response postWithAuth(String endpoint, Object body, String token) {
-        logger.info("POST {} with auth", endpoint);
-        return RestAssured.given()
+        logRequest("POST {} with auth", endpoint);
+        return given()
                 .header("Authorization", "Bearer " + token)
                 .body(body)
                 .post(endpoint);
     }
 
+    /**
+     * Starts a request with this client's specifications.
+     *
+     * @return Request specification for a single request
+     */
     public RequestSpecification given() {
-        return RestAssured.given().spec(requestSpec);
+        RequestSpecification request = RestAssured.given().spec(requestSpec);
+        request.response().spec(responseSpec);
+        return request;
+    }
+
+    private void logRequest(String message, Object... params) {
+        if (reportExchanges) {
+            logger.info(message, params);
+        } else {
+            logger.debug(message, params);
+        }
     }
 }
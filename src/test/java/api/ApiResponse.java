@@ -0,0 +1,85 @@
+package api;
+
+import com.google.gson.Gson;
+import io.restassured.path.json.JsonPath;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable HTTP response returned by {@link AsyncApiClient}, with the accessors tests
+ * use most on RestAssured responses.
+ */
+public final class ApiResponse {
+
+    private static final Gson gson = new Gson();
+
+    private final String method;
+    private final String uri;
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final String body;
+    private final long elapsedMillis;
+
+    public ApiResponse(String method, String uri, int statusCode, Map<String, List<String>> headers,
+                       String body, long elapsedMillis) {
+        this.method = method;
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.headers = Map.copyOf(headers);
+        this.body = body;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets the first value of a header, ignoring case.
+     *
+     * @param name Header name
+     * @return Header value, or null if absent
+     */
+    public String getHeader(String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public JsonPath jsonPath() {
+        return JsonPath.from(body);
+    }
+
+    public <T> T as(Class<T> type) {
+        return gson.fromJson(body, type);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uri + " -> " + statusCode + " in " + elapsedMillis + " ms";
+    }
+}
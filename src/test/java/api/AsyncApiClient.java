@@ -0,0 +1,333 @@
+package api;
+
+import com.google.gson.Gson;
+import config.Config;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.AttachmentContent;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.qameta.allure.model.Attachment;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking REST client built on java.net.http.HttpClient.
+ * Requests return CompletableFutures, so hundreds of calls can be in flight without a
+ * blocked thread each. Response handlers run on virtual threads when the JVM has them
+ * (Java 21+), otherwise on the HTTP client's default executor.
+ * Each request and response is attached to the Allure test that issued it.
+ */
+public class AsyncApiClient {
+
+    private static final Logger logger = LogManager.getLogger(AsyncApiClient.class);
+    private static final Gson gson = new Gson();
+    private static final FreemarkerAttachmentRenderer requestRenderer = new FreemarkerAttachmentRenderer("http-request.ftl");
+    private static final FreemarkerAttachmentRenderer responseRenderer = new FreemarkerAttachmentRenderer("http-response.ftl");
+    private static final ThreadLocal<String> fanOutTestCase = new ThreadLocal<>();
+    private static volatile HttpClient sharedClient;
+
+    private final String baseUri;
+    private final Duration timeout;
+    private final int defaultConcurrency;
+
+    public AsyncApiClient() {
+        this(Config.getProperty("api.base.url", "https://api.example.com"));
+    }
+
+    public AsyncApiClient(String baseUri) {
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        this.timeout = Duration.ofMillis(Config.getIntProperty("api.timeout", 30000));
+        this.defaultConcurrency = Config.getIntProperty("api.async.max.concurrency", 32);
+        logger.info("Async API Client initialized with base URI: {}", this.baseUri);
+    }
+
+    public CompletableFuture<ApiResponse> getAsync(String endpoint) {
+        return sendAsync("GET", endpoint, null, Collections.emptyMap());
+    }
+
+    public CompletableFuture<ApiResponse> getAsync(String endpoint, Map<String, String> queryParams) {
+        return sendAsync("GET", endpoint + query(queryParams), null, Collections.emptyMap());
+    }
+
+    public CompletableFuture<ApiResponse> postAsync(String endpoint, Object body) {
+        return sendAsync("POST", endpoint, body, Collections.emptyMap());
+    }
+
+    public CompletableFuture<ApiResponse> putAsync(String endpoint, Object body) {
+        return sendAsync("PUT", endpoint, body, Collections.emptyMap());
+    }
+
+    public CompletableFuture<ApiResponse> patchAsync(String endpoint, Object body) {
+        return sendAsync("PATCH", endpoint, body, Collections.emptyMap());
+    }
+
+    public CompletableFuture<ApiResponse> deleteAsync(String endpoint) {
+        return sendAsync("DELETE", endpoint, null, Collections.emptyMap());
+    }
+
+    public CompletableFuture<ApiResponse> getWithAuthAsync(String endpoint, String token) {
+        return sendAsync("GET", endpoint, null, Map.of("Authorization", "Bearer " + token));
+    }
+
+    public CompletableFuture<ApiResponse> postWithAuthAsync(String endpoint, Object body, String token) {
+        return sendAsync("POST", endpoint, body, Map.of("Authorization", "Bearer " + token));
+    }
+
+    /**
+     * Sends a request without blocking.
+     *
+     * @param method   HTTP method
+     * @param endpoint Path relative to the base URI, may include a query string
+     * @param body     Request body: a String is sent as is, anything else as JSON; null for none
+     * @param headers  Extra request headers
+     * @return Future completed with the response, or exceptionally on a transport error
+     */
+    public CompletableFuture<ApiResponse> sendAsync(String method, String endpoint, Object body,
+                                                    Map<String, String> headers) {
+        String uri = baseUri + endpoint;
+        String payload = body == null ? null : body instanceof String ? (String) body : gson.toJson(body);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, payload == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8));
+        headers.forEach(request::header);
+
+        logger.info("{} {} (async)", method, endpoint);
+        String responseSource = attachRequest(method, uri, payload, headers);
+        long start = System.nanoTime();
+        return getClient().sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        writeResponse(responseSource, uri, -1, Map.of(), String.valueOf(cause));
+                        throw new IllegalStateException(method + " " + uri + " failed", error);
+                    }
+                    ApiResponse result = new ApiResponse(method, uri, response.statusCode(),
+                            response.headers().map(), response.body(), (System.nanoTime() - start) / 1_000_000L);
+                    writeResponse(responseSource, uri, result.getStatusCode(), result.getHeaders(), result.getBody());
+                    return result;
+                });
+    }
+
+    /**
+     * Runs calls with at most the configured number (api.async.max.concurrency) in flight.
+     *
+     * @param calls Calls to run, each starting one request
+     * @param <T>   Result type
+     * @return Future completed with the results in call order
+     */
+    public <T> CompletableFuture<List<T>> fanOut(List<Supplier<CompletableFuture<T>>> calls) {
+        return fanOut(calls, defaultConcurrency);
+    }
+
+    /**
+     * Runs calls with at most maxConcurrency in flight; a new call starts as soon as one finishes.
+     * All calls run even if some fail; the result then completes exceptionally with the first
+     * failure, the others added as suppressed.
+     *
+     * @param calls          Calls to run, each starting one request
+     * @param maxConcurrency Maximum number of calls in flight
+     * @param <T>            Result type
+     * @return Future completed with the results in call order
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     */
+    public <T> CompletableFuture<List<T>> fanOut(List<Supplier<CompletableFuture<T>>> calls, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        if (calls.isEmpty()) {
+            result.complete(new ArrayList<>());
+            return result;
+        }
+
+        List<T> results = new ArrayList<>(Collections.nCopies(calls.size(), null));
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(calls.size());
+        // Calls started from completion threads still attach to the caller's test
+        String testCase = Allure.getLifecycle().getCurrentTestCase().orElse(null);
+
+        // Each launcher run keeps one slot busy. Calls that complete while they are being started
+        // (e.g. failing synchronously) are handled by the loop, not by recursing from their callback.
+        Runnable[] launcher = new Runnable[1];
+        launcher[0] = () -> {
+            while (true) {
+                int index = next.getAndIncrement();
+                if (index >= calls.size()) {
+                    return;
+                }
+                CompletableFuture<T> call;
+                fanOutTestCase.set(testCase);
+                try {
+                    call = calls.get(index).get();
+                } catch (RuntimeException e) {
+                    call = CompletableFuture.failedFuture(e);
+                } finally {
+                    fanOutTestCase.remove();
+                }
+                // Claimed by whichever runs first: the loop below while the call is pending,
+                // or the callback when the call has already completed
+                AtomicBoolean starting = new AtomicBoolean(true);
+                call.whenComplete((value, error) -> {
+                    if (error != null) {
+                        failures.add(error);
+                    } else {
+                        synchronized (results) {
+                            results.set(index, value);
+                        }
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        complete(result, results, failures);
+                    } else if (!starting.compareAndSet(true, false)) {
+                        launcher[0].run();
+                    }
+                });
+                if (starting.compareAndSet(true, false)) {
+                    return;
+                }
+            }
+        };
+        for (int i = 0; i < Math.min(maxConcurrency, calls.size()); i++) {
+            launcher[0].run();
+        }
+        return result;
+    }
+
+    private static <T> void complete(CompletableFuture<List<T>> result, List<T> results, List<Throwable> failures) {
+        if (failures.isEmpty()) {
+            synchronized (results) {
+                result.complete(new ArrayList<>(results));
+            }
+            return;
+        }
+        Throwable first = failures.get(0);
+        for (Throwable other : failures.subList(1, failures.size())) {
+            first.addSuppressed(other);
+        }
+        result.completeExceptionally(first);
+    }
+
+    private static HttpClient getClient() {
+        HttpClient current = sharedClient;
+        if (current == null) {
+            synchronized (AsyncApiClient.class) {
+                if (sharedClient == null) {
+                    HttpClient.Builder builder = HttpClient.newBuilder()
+                            .connectTimeout(Duration.ofMillis(Config.getIntProperty("api.timeout", 30000)));
+                    virtualThreadExecutor().ifPresent(builder::executor);
+                    sharedClient = builder.build();
+                }
+                current = sharedClient;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Looks up Executors.newVirtualThreadPerTaskExecutor reflectively, so the client
+     * uses virtual threads on Java 21+ while still compiling for Java 17.
+     */
+    private static Optional<ExecutorService> virtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            logger.info("Async API client uses virtual threads");
+            return Optional.of(executor);
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String query(Map<String, String> queryParams) {
+        if (queryParams.isEmpty()) {
+            return "";
+        }
+        StringJoiner query = new StringJoiner("&", "?", "");
+        queryParams.forEach((name, value) -> query.add(URLEncoder.encode(name, StandardCharsets.UTF_8)
+                + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return query.toString();
+    }
+
+    /**
+     * Attaches the request to the current test and reserves the response attachment,
+     * which is written when the response arrives, possibly on another thread.
+     *
+     * @return Source of the reserved response attachment, or null outside a test
+     */
+    private static String attachRequest(String method, String uri, String body, Map<String, String> headers) {
+        String testCase = fanOutTestCase.get();
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (testCase == null) {
+            testCase = lifecycle.getCurrentTestCase().orElse(null);
+        }
+        if (testCase == null) {
+            return null;
+        }
+        try {
+            HttpRequestAttachment request = HttpRequestAttachment.Builder.create("Request", uri)
+                    .setMethod(method).setHeaders(headers).setBody(body).build();
+            String requestSource = reserve(lifecycle, testCase, "Request " + method + " " + uri);
+            write(lifecycle, requestSource, requestRenderer.render(request));
+            return reserve(lifecycle, testCase, "Response " + method + " " + uri);
+        } catch (RuntimeException e) {
+            logger.warn("Could not attach request to Allure: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeResponse(String source, String uri, int status, Map<String, List<String>> headers,
+                                      String body) {
+        if (source == null) {
+            return;
+        }
+        try {
+            HttpResponseAttachment.Builder response = HttpResponseAttachment.Builder.create("Response")
+                    .setUrl(uri).setResponseCode(status).setBody(body);
+            headers.forEach((name, values) -> response.setHeader(name, String.join(", ", values)));
+            write(Allure.getLifecycle(), source, responseRenderer.render(response.build()));
+        } catch (RuntimeException e) {
+            logger.warn("Could not attach response to Allure: {}", e.getMessage());
+        }
+    }
+
+    private static String reserve(AllureLifecycle lifecycle, String testCase, String name) {
+        String source = UUID.randomUUID() + "-attachment.html";
+        Attachment attachment = new Attachment().setName(name).setSource(source).setType("text/html");
+        synchronized (AsyncApiClient.class) {
+            lifecycle.updateTestCase(testCase, result -> result.getAttachments().add(attachment));
+        }
+        return source;
+    }
+
+    private static void write(AllureLifecycle lifecycle, String source, AttachmentContent content) {
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(content.getContent().getBytes(StandardCharsets.UTF_8)));
+    }
+}
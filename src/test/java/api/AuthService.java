@@ -0,0 +1,111 @@
+package api;
+
+import config.Config;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs users in through the API instead of the login form.
+ * Sessions are cached per user until auth.session.ttl.seconds (or the expiry the API
+ * reports) is less than auth.session.refresh.margin.seconds away; concurrent tests
+ * needing the same user share one login call.
+ */
+public final class AuthService {
+
+    private static final Logger logger = LogManager.getLogger(AuthService.class);
+    private static final Map<String, CachedSession> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, ApiClient> clients = new ConcurrentHashMap<>();
+
+    private AuthService() {}
+
+    /**
+     * Gets a valid session for a user, logging in through the API when none is cached.
+     *
+     * @param username Username
+     * @param password Password
+     * @return Authenticated session
+     */
+    public static AuthSession getSession(String username, String password) {
+        return sessions.computeIfAbsent(username, user -> new CachedSession()).get(username, password);
+    }
+
+    /**
+     * Drops a user's cached session, e.g. after the test logged out.
+     *
+     * @param username Username
+     */
+    public static void invalidate(String username) {
+        sessions.remove(username);
+    }
+
+    private static AuthSession login(String username, String password) {
+        String endpoint = Config.getProperty("auth.login.endpoint", "/auth/login");
+        Map<String, Object> credentials = new HashMap<>();
+        credentials.put("username", username);
+        credentials.put("password", password);
+
+        Response response = getClient().post(endpoint, credentials);
+        if (response.getStatusCode() >= 400) {
+            throw new RuntimeException("API login failed for " + username + ": HTTP " + response.getStatusCode());
+        }
+
+        JsonPath json = response.jsonPath();
+        String token = json.getString(Config.getProperty("auth.token.path", "token"));
+        Map<String, String> localStorage = new LinkedHashMap<>();
+        String storageKey = Config.getProperty("auth.storage.token.key", "authToken");
+        if (token != null && !storageKey.isEmpty()) {
+            localStorage.put(storageKey, token);
+        }
+
+        Duration ttl = Duration.ofSeconds(Config.getIntProperty("auth.session.ttl.seconds", 900));
+        Object expiresIn = json.get("expiresIn");
+        if (expiresIn instanceof Number && ((Number) expiresIn).longValue() > 0
+                && ((Number) expiresIn).longValue() < ttl.getSeconds()) {
+            ttl = Duration.ofSeconds(((Number) expiresIn).longValue());
+        }
+
+        logger.info("Logged in {} through the API, session valid for {} s", username, ttl.getSeconds());
+        return new AuthSession(username, token, response.getCookies(), localStorage, Instant.now().plus(ttl));
+    }
+
+    /**
+     * Gets the client for the current auth.base.url, so a changed setting takes effect.
+     */
+    private static ApiClient getClient() {
+        String baseUri = Config.getProperty("auth.base.url", "");
+        return clients.computeIfAbsent(baseUri, uri -> uri.isEmpty() ? new ApiClient() : new ApiClient(uri));
+    }
+
+    /**
+     * Cache slot of one user; refreshes under its own lock so other users are not blocked.
+     */
+    private static final class CachedSession {
+
+        private volatile AuthSession session;
+
+        private AuthSession get(String username, String password) {
+            Duration margin = Duration.ofSeconds(Config.getIntProperty("auth.session.refresh.margin.seconds", 30));
+            AuthSession current = session;
+            if (current != null && current.isValidFor(margin)) {
+                return current;
+            }
+            synchronized (this) {
+                current = session;
+                if (current == null || !current.isValidFor(margin)) {
+                    current = login(username, password);
+                    session = current;
+                }
+                return current;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package api;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Authenticated session obtained through the API: the token plus the cookies and
+ * localStorage entries a browser needs to be logged in as the user.
+ */
+public final class AuthSession {
+
+    private final String username;
+    private final String token;
+    private final Map<String, String> cookies;
+    private final Map<String, String> localStorage;
+    private final Instant expiresAt;
+
+    AuthSession(String username, String token, Map<String, String> cookies,
+                Map<String, String> localStorage, Instant expiresAt) {
+        this.username = username;
+        this.token = token;
+        this.cookies = Collections.unmodifiableMap(new LinkedHashMap<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Map<String, String> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Checks whether the session is still usable for at least the given margin.
+     *
+     * @param margin Time the session must stay valid for
+     * @return true if the session expires after now plus the margin
+     */
+    public boolean isValidFor(Duration margin) {
+        return Instant.now().plus(margin).isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,138 @@
+package api;
+
+import config.Config;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.StringJoiner;
+
+/**
+ * RestAssured filter that keeps each thread's last exchanges in a bounded in-memory ring
+ * instead of printing them. The ring holds the request and response parts with each body
+ * already cut to api.log.body.max.chars characters, so large payloads are not retained,
+ * and they are formatted only when a test or configuration method fails, see base.TestListener.
+ * Holds api.log.buffer.size exchanges per thread; both settings are read as exchanges are recorded.
+ */
+public class BufferedLoggingFilter implements Filter {
+
+    private static final ThreadLocal<Deque<Exchange>> exchanges = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = context.next(request, responseSpec);
+        } catch (RuntimeException e) {
+            record(new Exchange(request, null, elapsed(start), e));
+            throw e;
+        }
+        record(new Exchange(request, response, elapsed(start), null));
+        return response;
+    }
+
+    /**
+     * Discards the current thread's buffered exchanges, e.g. when a new test starts.
+     */
+    public static void clear() {
+        exchanges.get().clear();
+    }
+
+    /**
+     * Gets the current thread's buffered exchanges, oldest first.
+     *
+     * @return Formatted exchanges, or an empty string when nothing was recorded
+     */
+    public static String getBufferedExchanges() {
+        StringJoiner text = new StringJoiner("\n\n");
+        for (Exchange exchange : exchanges.get()) {
+            text.add(exchange.format());
+        }
+        return text.toString();
+    }
+
+    private static void record(Exchange exchange) {
+        int capacity = Math.max(1, Config.getIntProperty("api.log.buffer.size", 20));
+        Deque<Exchange> ring = exchanges.get();
+        while (ring.size() >= capacity) {
+            ring.removeFirst();
+        }
+        ring.addLast(exchange);
+    }
+
+    private static String truncate(String body, int maxBodyChars) {
+        if (body.length() <= maxBodyChars) {
+            return body;
+        }
+        return body.substring(0, maxBodyChars) + "... [" + (body.length() - maxBodyChars) + " more chars]";
+    }
+
+    private static long elapsed(long start) {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+
+    /**
+     * One buffered exchange with its bodies already truncated, formatted only on demand.
+     */
+    private static final class Exchange {
+
+        private final String method;
+        private final String uri;
+        private final Headers requestHeaders;
+        private final String requestBody;
+        private final String statusLine;
+        private final Headers responseHeaders;
+        private final String responseBody;
+        private final long elapsedMillis;
+        private final RuntimeException failure;
+
+        private Exchange(FilterableRequestSpecification request, Response response, long elapsedMillis,
+                         RuntimeException failure) {
+            int maxBodyChars = Config.getIntProperty("api.log.body.max.chars", 4096);
+            Object body = request.getBody();
+            this.method = request.getMethod();
+            this.uri = request.getURI();
+            this.requestHeaders = request.getHeaders();
+            this.requestBody = body == null ? null : truncate(body instanceof byte[]
+                    ? new String((byte[]) body, StandardCharsets.UTF_8) : String.valueOf(body), maxBodyChars);
+            this.statusLine = response != null ? response.getStatusLine() : null;
+            this.responseHeaders = response != null ? response.getHeaders() : null;
+            String responseText = response != null ? response.asString() : null;
+            this.responseBody = responseText == null || responseText.isEmpty() ? null : truncate(responseText, maxBodyChars);
+            this.elapsedMillis = elapsedMillis;
+            this.failure = failure;
+        }
+
+        private String format() {
+            StringBuilder text = new StringBuilder("--> ").append(method).append(' ').append(uri);
+            appendHeaders(text, requestHeaders);
+            if (requestBody != null) {
+                text.append("\n\n").append(requestBody);
+            }
+            if (failure != null) {
+                return text.append("\n<-- failed after ").append(elapsedMillis).append(" ms: ").append(failure).toString();
+            }
+            text.append("\n<-- ").append(statusLine).append(" (").append(elapsedMillis).append(" ms)");
+            appendHeaders(text, responseHeaders);
+            if (responseBody != null) {
+                text.append("\n\n").append(responseBody);
+            }
+            return text.toString();
+        }
+
+        private static void appendHeaders(StringBuilder text, Headers headers) {
+            for (Header header : headers) {
+                text.append('\n').append(header.getName()).append(": ").append(header.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package api;
+
+import config.Config;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpConnectionMetrics;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keep-alive HTTP connection pool shared by every {@link ApiClient} in the JVM.
+ * Bounded by api.pool.max.total and api.pool.max.per.route; pooled connections
+ * are retired after api.pool.ttl.seconds. Counts requests and how many of them
+ * reused an already open connection.
+ */
+public final class HttpConnectionPool {
+
+    private static final Logger logger = LogManager.getLogger(HttpConnectionPool.class);
+    private static final LongAdder requests = new LongAdder();
+    private static final LongAdder reused = new LongAdder();
+    private static volatile PoolingClientConnectionManager manager;
+
+    private HttpConnectionPool() {}
+
+    /**
+     * Gets a RestAssured HTTP client configuration backed by the shared pool.
+     * The client instance is reused, so RestAssured never shuts the pool down after a request.
+     *
+     * @param timeoutMillis Connection and socket timeout
+     * @return HTTP client configuration
+     */
+    public static HttpClientConfig httpClientConfig(int timeoutMillis) {
+        PoolingClientConnectionManager connections = getManager();
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> newClient(connections))
+                .reuseHttpClientInstance()
+                .setParam("http.connection.timeout", timeoutMillis)
+                .setParam("http.socket.timeout", timeoutMillis);
+    }
+
+    /**
+     * Gets the pool statistics, if the pool has been used.
+     *
+     * @return Pool statistics or empty when no client has been created
+     */
+    public static Optional<Stats> getStats() {
+        PoolingClientConnectionManager current = manager;
+        return current != null ? Optional.of(new Stats(current.getTotalStats(), requests.sum(), reused.sum()))
+                : Optional.empty();
+    }
+
+    /**
+     * Closes all pooled connections. Clients created before stop working.
+     */
+    public static synchronized void shutdown() {
+        if (manager != null) {
+            manager.shutdown();
+            manager = null;
+        }
+    }
+
+    private static PoolingClientConnectionManager getManager() {
+        PoolingClientConnectionManager current = manager;
+        if (current == null) {
+            synchronized (HttpConnectionPool.class) {
+                if (manager == null) {
+                    int maxTotal = Config.getIntProperty("api.pool.max.total", 50);
+                    int maxPerRoute = Config.getIntProperty("api.pool.max.per.route", 10);
+                    int ttl = Config.getIntProperty("api.pool.ttl.seconds", 60);
+                    PoolingClientConnectionManager created = new PoolingClientConnectionManager(
+                            SchemeRegistryFactory.createDefault(), ttl, TimeUnit.SECONDS);
+                    created.setMaxTotal(maxTotal);
+                    created.setDefaultMaxPerRoute(maxPerRoute);
+                    manager = created;
+                    logger.info("HTTP connection pool initialized: max total {}, max per route {}, ttl {}s",
+                            maxTotal, maxPerRoute, ttl);
+                }
+                current = manager;
+            }
+        }
+        return current;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static DefaultHttpClient newClient(PoolingClientConnectionManager connections) {
+        DefaultHttpClient client = new DefaultHttpClient(connections);
+        client.addRequestInterceptor((request, context) -> {
+            requests.increment();
+            Object connection = context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+            if (connection instanceof HttpConnection) {
+                HttpConnectionMetrics metrics = ((HttpConnection) connection).getMetrics();
+                if (metrics != null && metrics.getRequestCount() > 0) {
+                    reused.increment();
+                }
+            }
+        });
+        return client;
+    }
+
+    /**
+     * Immutable snapshot of pool utilization and connection reuse.
+     */
+    public static final class Stats {
+
+        private final int leased;
+        private final int available;
+        private final int pending;
+        private final int max;
+        private final long requests;
+        private final long reused;
+
+        private Stats(PoolStats pool, long requests, long reused) {
+            this.leased = pool.getLeased();
+            this.available = pool.getAvailable();
+            this.pending = pool.getPending();
+            this.max = pool.getMax();
+            this.requests = requests;
+            this.reused = reused;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public int getAvailable() {
+            return available;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getReused() {
+            return reused;
+        }
+
+        /**
+         * Gets the share of requests sent on an already open connection.
+         *
+         * @return Reuse ratio between 0 and 1
+         */
+        public double getReuseRatio() {
+            return requests == 0 ? 0 : (double) reused / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("leased=%d, available=%d, pending=%d, max=%d, requests=%d, reused=%d (%.0f%%)",
+                    leased, available, pending, max, requests, reused, getReuseRatio() * 100);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package api.load;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load mix built from the requests of the booking API tests (tests.api.ApiBookingTest),
+ * weighted towards reads the way the booking pages use the API.
+ */
+public final class BookingScenarios {
+
+    private BookingScenarios() {}
+
+    /**
+     * Gets the default booking mix: list 50%, get by ID 30%, create 10%, delete 10%.
+     *
+     * @return Scenarios for {@link LoadRunner}
+     */
+    public static List<LoadScenario> mix() {
+        return List.of(
+                LoadScenario.of("GET /bookings", 5, client -> client.get("/bookings"), 200),
+                LoadScenario.of("GET /bookings/{id}", 3, client -> client.get("/bookings/1"), 200),
+                LoadScenario.of("POST /bookings", 1, client -> client.post("/bookings", newBooking()), 201),
+                LoadScenario.of("DELETE /bookings/{id}", 1, client -> client.delete("/bookings/999"), 200, 404));
+    }
+
+    private static Map<String, Object> newBooking() {
+        Map<String, Object> booking = new HashMap<>();
+        booking.put("firstName", "Load");
+        booking.put("lastName", "User");
+        booking.put("roomType", "Standard");
+        booking.put("checkInDate", "2026-03-01");
+        booking.put("checkOutDate", "2026-03-05");
+        return booking;
+    }
+}
@@ -0,0 +1,218 @@
+package api.load;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import config.Config;
+import core.LatencyHistogram;
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of a load run: throughput, error rate and latency percentiles overall and per scenario.
+ * Latencies are recorded in microseconds and reported in milliseconds.
+ */
+public final class LoadReport {
+
+    private static final Logger logger = LogManager.getLogger(LoadReport.class);
+
+    private final String mode;
+    private final JsonObject settings;
+    private final double elapsedSeconds;
+    private final long unfinished;
+    private final Map<String, Stats> scenarios;
+    private final Stats overall = new Stats();
+
+    LoadReport(String mode, JsonObject settings, long elapsedNanos, long unfinished, Map<String, Stats> scenarios) {
+        this.mode = mode;
+        this.settings = settings;
+        this.elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        this.unfinished = unfinished;
+        this.scenarios = scenarios;
+        scenarios.values().forEach(overall::add);
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getRequests() {
+        return overall.requests;
+    }
+
+    public long getErrors() {
+        return overall.errors;
+    }
+
+    /**
+     * Gets the share of requests that failed or returned an unexpected status.
+     *
+     * @return Error rate between 0 and 1
+     */
+    public double getErrorRate() {
+        return overall.errorRate();
+    }
+
+    /**
+     * Gets the completed requests per second over the whole run.
+     *
+     * @return Throughput in requests per second
+     */
+    public double getThroughput() {
+        return elapsedSeconds == 0 ? 0 : overall.requests / elapsedSeconds;
+    }
+
+    /**
+     * Gets the overall latency at a percentile, including coordinated-omission correction.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in milliseconds
+     */
+    public double getLatencyMillis(double percentile) {
+        return millis(overall.histogram.valueAtPercentile(percentile));
+    }
+
+    /**
+     * Gets the number of requests that were scheduled but had not completed when the run was cut off.
+     *
+     * @return Unfinished request count
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public String toJson() {
+        JsonObject report = new JsonObject();
+        report.addProperty("mode", mode);
+        report.add("settings", settings);
+        report.addProperty("elapsedSeconds", round(elapsedSeconds));
+        report.addProperty("requests", overall.requests);
+        report.addProperty("errors", overall.errors);
+        report.addProperty("errorRate", round(overall.errorRate()));
+        report.addProperty("unfinished", unfinished);
+        report.addProperty("throughputPerSecond", round(getThroughput()));
+        report.add("latency", latency(overall.histogram));
+
+        JsonArray rows = new JsonArray();
+        scenarios.forEach((name, stats) -> {
+            JsonObject row = new JsonObject();
+            row.addProperty("scenario", name);
+            row.addProperty("requests", stats.requests);
+            row.addProperty("errors", stats.errors);
+            row.addProperty("errorRate", round(stats.errorRate()));
+            row.addProperty("throughputPerSecond", round(elapsedSeconds == 0 ? 0 : stats.requests / elapsedSeconds));
+            JsonObject outcomes = new JsonObject();
+            stats.outcomes.forEach(outcomes::addProperty);
+            row.add("outcomes", outcomes);
+            row.add("latency", latency(stats.histogram));
+            rows.add(row);
+        });
+        report.add("scenarios", rows);
+
+        return new GsonBuilder().setPrettyPrinting().create().toJson(report);
+    }
+
+    /**
+     * Writes the JSON report to load.report.dir and attaches it to Allure.
+     *
+     * @return Path of the written report, or null when it could not be written
+     */
+    public Path write() {
+        String json = toJson();
+        Allure.addAttachment("Load report (" + mode + ")", "application/json", json, ".json");
+
+        Path dir = Paths.get(Config.getProperty("load.report.dir", "target/load-reports"));
+        Path file = dir.resolve("load-" + mode + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        try {
+            Files.createDirectories(dir);
+            Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+            logger.info("Load report written to: {}", file.toAbsolutePath());
+            return file;
+        } catch (IOException e) {
+            logger.error("Failed to write load report: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d requests, %.1f req/s, error rate %.2f%%, p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms",
+                mode, overall.requests, getThroughput(), overall.errorRate() * 100,
+                getLatencyMillis(50), getLatencyMillis(99), getLatencyMillis(99.9));
+    }
+
+    private static JsonObject latency(LatencyHistogram histogram) {
+        JsonObject json = new JsonObject();
+        json.addProperty("samples", histogram.getCount());
+        json.addProperty("meanMs", round(histogram.getMean() / 1000.0));
+        json.addProperty("p50Ms", millis(histogram.valueAtPercentile(50)));
+        json.addProperty("p90Ms", millis(histogram.valueAtPercentile(90)));
+        json.addProperty("p99Ms", millis(histogram.valueAtPercentile(99)));
+        json.addProperty("p999Ms", millis(histogram.valueAtPercentile(99.9)));
+        json.addProperty("maxMs", millis(histogram.getMax()));
+        return json;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * Counters of one scenario; each instance has a single writer thread until the run is merged.
+     */
+    static final class Stats {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final Map<String, Long> outcomes = new TreeMap<>();
+        private long requests;
+        private long errors;
+
+        /**
+         * Records one completed request.
+         *
+         * @param micros                 Latency in microseconds
+         * @param expectedIntervalMicros Expected interval between requests for correction, 0 for none
+         * @param outcome                Status code, or the exception name when the request failed
+         * @param success                Whether the outcome was expected
+         */
+        void record(long micros, long expectedIntervalMicros, String outcome, boolean success) {
+            histogram.recordCorrected(micros, expectedIntervalMicros);
+            outcomes.merge(outcome, 1L, Long::sum);
+            requests++;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        long requestCount() {
+            return requests;
+        }
+
+        void add(Stats other) {
+            histogram.add(other.histogram);
+            other.outcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+            requests += other.requests;
+            errors += other.errors;
+        }
+
+        private double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
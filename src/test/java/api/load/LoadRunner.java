@@ -0,0 +1,296 @@
+package api.load;
+
+import api.ApiClient;
+import com.google.gson.JsonObject;
+import config.Config;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a weighted mix of API scenarios for a fixed duration and reports throughput,
+ * error rate and latency percentiles.
+ *
+ * <p>Two load models are supported:
+ * <ul>
+ *   <li>open: requests start at a fixed rate whether or not earlier ones have finished.
+ *       Latency is measured from the time a request was scheduled to start, so time spent
+ *       queued behind a slow server counts against it (no coordinated omission).</li>
+ *   <li>closed: a set number of virtual users each send one request at a time, optionally
+ *       paced to one request per interval. Latency is measured from the actual start and
+ *       corrected with {@link core.LatencyHistogram#recordCorrected(long, long)} for the
+ *       paced requests a slow response held back.</li>
+ * </ul>
+ * The report is written as JSON to load.report.dir and attached to Allure.
+ */
+public class LoadRunner {
+
+    private static final Logger logger = LogManager.getLogger(LoadRunner.class);
+
+    private final ApiClient client;
+    private final List<LoadScenario> scenarios;
+    private final int totalWeight;
+
+    /**
+     * @param client    Client the scenarios use; build it with exchange reporting off for large runs
+     * @param scenarios Scenario mix
+     */
+    public LoadRunner(ApiClient client, List<LoadScenario> scenarios) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Load run needs at least one scenario");
+        }
+        this.client = client;
+        this.scenarios = List.copyOf(scenarios);
+        this.totalWeight = scenarios.stream().mapToInt(LoadScenario::getWeight).sum();
+    }
+
+    /**
+     * Runs the load model configured by load.mode (open | closed) with its configured settings.
+     *
+     * @return Load report, already written
+     */
+    public LoadReport run() {
+        Duration duration = Duration.ofSeconds(Config.getIntProperty("load.duration.seconds", 10));
+        String mode = Config.getProperty("load.mode", "open");
+        switch (mode.toLowerCase()) {
+            case "open":
+                return runOpen(Config.getIntProperty("load.rate", 50), duration);
+            case "closed":
+                return runClosed(Config.getIntProperty("load.users", 8),
+                        Duration.ofMillis(Config.getIntProperty("load.pacing.ms", 100)), duration);
+            default:
+                throw new IllegalArgumentException("Unsupported load mode: " + mode);
+        }
+    }
+
+    /**
+     * Starts requests at a fixed rate for the given duration (open model).
+     *
+     * @param requestsPerSecond Target request rate
+     * @param duration          How long to keep starting requests
+     * @return Load report, already written
+     */
+    public LoadReport runOpen(double requestsPerSecond, Duration duration) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Request rate must be positive: " + requestsPerSecond);
+        }
+        int threads = Config.getIntProperty("load.max.threads", 64);
+        logger.info("Open load run: {} req/s for {} s on up to {} threads",
+                requestsPerSecond, duration.toSeconds(), threads);
+
+        Recording recording = new Recording();
+        ExecutorService workers = newWorkers(threads);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double intervalNanos = 1_000_000_000.0 / requestsPerSecond;
+        long scheduled = 0;
+        for (long intended = start; intended < end; intended = start + (long) (++scheduled * intervalNanos)) {
+            if (!sleepUntil(intended)) {
+                break;
+            }
+            LoadScenario scenario = pick();
+            long intendedStart = intended;
+            workers.execute(() -> execute(recording, scenario, intendedStart, 0));
+        }
+        drain(workers, end);
+        long elapsed = System.nanoTime() - start;
+
+        JsonObject settings = new JsonObject();
+        settings.addProperty("targetRatePerSecond", requestsPerSecond);
+        settings.addProperty("durationSeconds", duration.toSeconds());
+        settings.addProperty("maxThreads", threads);
+        Map<String, LoadReport.Stats> stats = recording.merge(scenarios);
+        long completed = stats.values().stream().mapToLong(LoadReport.Stats::requestCount).sum();
+        return finish(new LoadReport("open", settings, elapsed, scheduled - completed, stats));
+    }
+
+    /**
+     * Runs virtual users that each send one request at a time for the given duration (closed model).
+     *
+     * @param users    Number of concurrent virtual users
+     * @param pacing   Interval at which each user starts a request; zero sends requests back to back
+     * @param duration How long the users keep sending
+     * @return Load report, already written
+     */
+    public LoadReport runClosed(int users, Duration pacing, Duration duration) {
+        if (users <= 0) {
+            throw new IllegalArgumentException("Virtual user count must be positive: " + users);
+        }
+        logger.info("Closed load run: {} users, pacing {} ms, for {} s", users, pacing.toMillis(), duration.toSeconds());
+
+        Recording recording = new Recording();
+        ExecutorService workers = newWorkers(users);
+        long pacingNanos = pacing.toNanos();
+        long expectedIntervalMicros = pacingNanos / 1000;
+        AtomicInteger activeUsers = new AtomicInteger(users);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (int user = 0; user < users; user++) {
+            // Spread the first requests over one pacing interval instead of starting every user at once
+            long firstStart = start + pacingNanos * user / users;
+            workers.execute(() -> {
+                try {
+                    long next = firstStart;
+                    while (next < end && sleepUntil(next)) {
+                        execute(recording, pick(), System.nanoTime(), expectedIntervalMicros);
+                        next = Math.max(next + pacingNanos, System.nanoTime());
+                    }
+                } finally {
+                    activeUsers.decrementAndGet();
+                }
+            });
+        }
+        drain(workers, end);
+        long elapsed = System.nanoTime() - start;
+
+        JsonObject settings = new JsonObject();
+        settings.addProperty("users", users);
+        settings.addProperty("pacingMs", pacing.toMillis());
+        settings.addProperty("durationSeconds", duration.toSeconds());
+        // Each user still running when the run was stopped had one request in flight
+        Map<String, LoadReport.Stats> stats = recording.merge(scenarios);
+        return finish(new LoadReport("closed", settings, elapsed, activeUsers.get(), stats));
+    }
+
+    private void execute(Recording recording, LoadScenario scenario, long startNanos, long expectedIntervalMicros) {
+        String outcome;
+        boolean success;
+        try {
+            Response response = scenario.execute(client);
+            outcome = String.valueOf(response.getStatusCode());
+            success = scenario.isSuccess(response.getStatusCode());
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            success = false;
+            logger.debug("Load request {} failed: {}", scenario.getName(), e.getMessage());
+        }
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        recording.record(scenario.getName(), micros, expectedIntervalMicros, outcome, success);
+    }
+
+    private LoadScenario pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (LoadScenario scenario : scenarios) {
+            ticket -= scenario.getWeight();
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private LoadReport finish(LoadReport report) {
+        logger.info("Load run finished: {}", report);
+        if (report.getUnfinished() > 0) {
+            logger.warn("{} scheduled requests had not finished when the run was stopped", report.getUnfinished());
+        }
+        report.write();
+        return report;
+    }
+
+    /**
+     * Waits for the workers until the end of the run plus the API timeout, so the last
+     * requests can complete. Workers still busy after that are interrupted and given
+     * another API timeout to stop; the run then reports their requests as unfinished.
+     *
+     * @param workers Workers of the run
+     * @param endNanos When the run stops starting requests, in System.nanoTime() terms
+     */
+    private static void drain(ExecutorService workers, long endNanos) {
+        long apiTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Config.getIntProperty("api.timeout", 30000) + 5000L);
+        workers.shutdown();
+        try {
+            long wait = Math.max(0, endNanos - System.nanoTime()) + apiTimeoutNanos;
+            if (workers.awaitTermination(wait, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            logger.warn("Load workers still busy {} ms after the end of the run, interrupting them",
+                    TimeUnit.NANOSECONDS.toMillis(apiTimeoutNanos));
+            workers.shutdownNow();
+            if (!workers.awaitTermination(apiTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                logger.warn("Load workers did not stop; their late results are left out of the report");
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sleeps until the deadline.
+     *
+     * @return false if the thread was interrupted before the deadline
+     */
+    private static boolean sleepUntil(long deadlineNanos) {
+        for (long remaining = deadlineNanos - System.nanoTime(); remaining > 0;
+             remaining = deadlineNanos - System.nanoTime()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(remaining);
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private static ExecutorService newWorkers(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Per-thread scenario counters of one run, merged once the workers have stopped.
+     * Each thread's counters are guarded by their own, uncontended lock, so a worker that
+     * ignored the interrupt cannot write into them while they are merged; once merged,
+     * the recording is closed and later results are dropped.
+     */
+    private static final class Recording {
+
+        private final Queue<Map<String, LoadReport.Stats>> recorders = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Map<String, LoadReport.Stats>> recorder = ThreadLocal.withInitial(() -> {
+            Map<String, LoadReport.Stats> stats = new HashMap<>();
+            recorders.add(stats);
+            return stats;
+        });
+        private volatile boolean closed;
+
+        private void record(String scenario, long micros, long expectedIntervalMicros, String outcome, boolean success) {
+            Map<String, LoadReport.Stats> stats = recorder.get();
+            synchronized (stats) {
+                if (!closed) {
+                    stats.computeIfAbsent(scenario, name -> new LoadReport.Stats())
+                            .record(micros, expectedIntervalMicros, outcome, success);
+                }
+            }
+        }
+
+        private Map<String, LoadReport.Stats> merge(List<LoadScenario> scenarios) {
+            closed = true;
+            Map<String, LoadReport.Stats> merged = new LinkedHashMap<>();
+            scenarios.forEach(scenario -> merged.put(scenario.getName(), new LoadReport.Stats()));
+            for (Map<String, LoadReport.Stats> stats : recorders) {
+                synchronized (stats) {
+                    stats.forEach((name, value) -> merged.computeIfAbsent(name, n -> new LoadReport.Stats()).add(value));
+                }
+            }
+            return merged;
+        }
+    }
+}
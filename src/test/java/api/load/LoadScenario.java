@@ -0,0 +1,62 @@
+package api.load;
+
+import api.ApiClient;
+import io.restassured.response.Response;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * One request type in a load mix: the call to make, its share of the traffic
+ * and the status codes that count as a success.
+ */
+public final class LoadScenario {
+
+    private final String name;
+    private final int weight;
+    private final Function<ApiClient, Response> call;
+    private final int[] expectedStatuses;
+
+    private LoadScenario(String name, int weight, Function<ApiClient, Response> call, int[] expectedStatuses) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Scenario weight must be positive: " + name);
+        }
+        this.name = name;
+        this.weight = weight;
+        this.call = call;
+        this.expectedStatuses = expectedStatuses.clone();
+    }
+
+    /**
+     * Declares a scenario.
+     *
+     * @param name             Name used in the report
+     * @param weight           Relative share of the requests, e.g. 6 for six times as often as a weight of 1
+     * @param call             Request to send with the runner's client
+     * @param expectedStatuses Status codes counted as success; any 2xx when none are given
+     * @return Scenario
+     */
+    public static LoadScenario of(String name, int weight, Function<ApiClient, Response> call,
+                                  int... expectedStatuses) {
+        return new LoadScenario(name, weight, call, expectedStatuses);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    Response execute(ApiClient client) {
+        return call.apply(client);
+    }
+
+    boolean isSuccess(int status) {
+        if (expectedStatuses.length == 0) {
+            return status >= 200 && status < 300;
+        }
+        return Arrays.stream(expectedStatuses).anyMatch(expected -> expected == status);
+    }
+}
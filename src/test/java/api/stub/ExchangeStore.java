@@ -0,0 +1,198 @@
+package api.stub;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Recorded API exchanges, looked up by {@link RequestKey} hash.
+ * A request recorded several times replays its responses in recording order and then keeps
+ * answering with the last one, so create-then-read sequences replay as they happened.
+ *
+ * <p>On disk the store is a single file: a header (magic, count), an index of
+ * (hash, offset, length) entries sorted by hash, then the records. Bodies of 512 bytes
+ * or more are gzipped.
+ */
+final class ExchangeStore {
+
+    private static final int MAGIC = 0x53544231; // "STB1"
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Integer.BYTES * 2;
+    private static final int COMPRESS_THRESHOLD = 512;
+
+    private final ConcurrentLinkedQueue<Exchange> recorded = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Sequence> byKey = new HashMap<>();
+
+    /**
+     * One recorded response with the request it answered.
+     */
+    static final class Exchange {
+
+        final long key;
+        final String method;
+        final String uri;
+        final int status;
+        final String contentType;
+        final long latencyMicros;
+        final byte[] body;
+
+        Exchange(long key, String method, String uri, int status, String contentType, long latencyMicros, byte[] body) {
+            this.key = key;
+            this.method = method;
+            this.uri = uri;
+            this.status = status;
+            this.contentType = contentType;
+            this.latencyMicros = latencyMicros;
+            this.body = body;
+        }
+    }
+
+    private static final class Sequence {
+
+        private final List<Exchange> responses = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Exchange next() {
+            int index = next.getAndIncrement();
+            return responses.get(Math.min(index, responses.size() - 1));
+        }
+    }
+
+    /**
+     * Adds an exchange captured in record mode. Safe to call from many threads.
+     */
+    void record(Exchange exchange) {
+        recorded.add(exchange);
+    }
+
+    int size() {
+        return recorded.size();
+    }
+
+    /**
+     * Finds the next response recorded for a request. Only valid after {@link #load(Path)}.
+     *
+     * @param key Request hash
+     * @return Recorded exchange, or null when the request was never recorded
+     */
+    Exchange find(long key) {
+        Sequence sequence = byKey.get(key);
+        return sequence == null ? null : sequence.next();
+    }
+
+    /**
+     * Writes every recorded exchange to a file, replacing it.
+     *
+     * @param file Target file
+     */
+    void write(Path file) throws IOException {
+        List<Exchange> exchanges = new ArrayList<>(recorded);
+        // Stable sort keeps repeated requests in recording order
+        exchanges.sort(Comparator.comparingLong(exchange -> exchange.key));
+
+        List<byte[]> records = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            records.add(encode(exchange));
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(records.size());
+            int offset = 0;
+            for (int i = 0; i < records.size(); i++) {
+                out.writeLong(exchanges.get(i).key);
+                out.writeInt(offset);
+                out.writeInt(records.get(i).length);
+                offset += records.get(i).length;
+            }
+            for (byte[] record : records) {
+                out.write(record);
+            }
+        }
+    }
+
+    /**
+     * Loads a file written by {@link #write(Path)} into memory for replay.
+     *
+     * @param file Recording file
+     */
+    void load(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a stub recording: " + file);
+        }
+        int count = buffer.getInt();
+        int dataStart = buffer.position() + count * INDEX_ENTRY_BYTES;
+        byKey.clear();
+        for (int i = 0; i < count; i++) {
+            long key = buffer.getLong();
+            int offset = buffer.getInt();
+            int length = buffer.getInt();
+            Exchange exchange = decode(key, buffer.array(), dataStart + offset, length);
+            byKey.computeIfAbsent(key, k -> new Sequence()).responses.add(exchange);
+        }
+    }
+
+    private static byte[] encode(Exchange exchange) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(exchange.body.length + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(exchange.method);
+            out.writeUTF(exchange.uri);
+            out.writeShort(exchange.status);
+            out.writeUTF(exchange.contentType);
+            out.writeLong(exchange.latencyMicros);
+            boolean compress = exchange.body.length >= COMPRESS_THRESHOLD;
+            byte[] body = compress ? gzip(exchange.body) : exchange.body;
+            out.writeBoolean(compress);
+            out.writeInt(body.length);
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Exchange decode(long key, byte[] data, int offset, int length) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            String method = in.readUTF();
+            String uri = in.readUTF();
+            int status = in.readUnsignedShort();
+            String contentType = in.readUTF();
+            long latencyMicros = in.readLong();
+            boolean compressed = in.readBoolean();
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new Exchange(key, method, uri, status, contentType, latencyMicros,
+                    compressed ? gunzip(body) : body);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package api.stub;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 64-bit key of a request for record/replay matching. Built from the method, the path
+ * without a trailing slash, the query parameters in sorted order and the body, with JSON
+ * bodies re-serialized with sorted keys so formatting and key order do not matter.
+ */
+final class RequestKey {
+
+    private static final Gson gson = new Gson();
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private RequestKey() {}
+
+    /**
+     * Computes the key of a request.
+     *
+     * @param method HTTP method
+     * @param path   Request path
+     * @param query  Raw query string, or null
+     * @param body   Request body, empty when there is none
+     * @return Request hash
+     */
+    static long of(String method, String path, String query, String body) {
+        String canonical = method.toUpperCase() + ' ' + normalizePath(path) + '?' + normalizeQuery(query)
+                + '\n' + normalizeBody(body);
+        long hash = FNV_OFFSET;
+        for (byte b : canonical.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String normalizePath(String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        String[] params = query.split("&");
+        Arrays.sort(params);
+        return String.join("&", params);
+    }
+
+    private static String normalizeBody(String body) {
+        String trimmed = body == null ? "" : body.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                return gson.toJson(sorted(JsonParser.parseString(trimmed)));
+            } catch (JsonParseException e) {
+                return trimmed;
+            }
+        }
+        return trimmed;
+    }
+
+    private static JsonElement sorted(JsonElement element) {
+        if (element.isJsonObject()) {
+            Map<String, JsonElement> fields = new TreeMap<>();
+            element.getAsJsonObject().entrySet().forEach(field -> fields.put(field.getKey(), sorted(field.getValue())));
+            JsonObject object = new JsonObject();
+            fields.forEach(object::add);
+            return object;
+        }
+        if (element.isJsonArray()) {
+            JsonArray array = new JsonArray();
+            element.getAsJsonArray().forEach(item -> array.add(sorted(item)));
+            return array;
+        }
+        return element;
+    }
+}
@@ -0,0 +1,494 @@
+package api.stub;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded HTTP server answering API calls without the real backend, so API tests and
+ * load runs can work offline. Binds to a free port on the loopback interface.
+ *
+ * <p>Requests are answered by the first matching route; requests no route matches go to
+ * the mode's fallback:
+ * <ul>
+ *   <li>routes only: 404.</li>
+ *   <li>record: proxied to the real API; every exchange is written to the recording
+ *       file when the server stops.</li>
+ *   <li>replay: answered from a recording held in memory, matched by a hash of method,
+ *       path, query and normalized body, optionally with injected latency.</li>
+ * </ul>
+ * {@link #fromConfig()} builds the server selected by stub.mode.
+ */
+public class StubServer implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(StubServer.class);
+    private static final Gson gson = new Gson();
+
+    static {
+        // The JDK server writes headers and body separately; without TCP_NODELAY each reply waits on a delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    // Hop-by-hop and length headers are set by the proxying client itself
+    private static final List<String> FORWARDED_HEADERS = List.of("Content-Type", "Accept", "Authorization", "Cookie");
+
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private ExchangeStore replay;
+    private ExchangeStore recording;
+    private Path recordingFile;
+    private String recordTarget;
+    private HttpClient upstream;
+
+    private long latencyMicros;
+    private long jitterMicros;
+    private boolean recordedLatency;
+
+    /**
+     * Handles a request whose method and path matched a route.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * @param path Matcher of the route pattern against the request path, for path parameters
+         * @param body Request body, empty when there is none
+         * @return Reply to send
+         */
+        Reply handle(Matcher path, String body);
+    }
+
+    /**
+     * Status and body sent back for a request.
+     */
+    public static final class Reply {
+
+        private final int status;
+        private final byte[] body;
+        private final String contentType;
+        private final long recordedLatencyMicros;
+
+        public Reply(int status, String body) {
+            this(status, body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8), "application/json", 0);
+        }
+
+        private Reply(int status, byte[] body, String contentType, long recordedLatencyMicros) {
+            this.status = status;
+            this.body = body;
+            this.contentType = contentType;
+            this.recordedLatencyMicros = recordedLatencyMicros;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getBody() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Creates a server that proxies every request to the real API and records the exchanges.
+     * The recording file is replaced when the server stops.
+     *
+     * @param targetBaseUri Base URI of the real API
+     * @param file          Recording file to write
+     * @return Stub server, not yet started
+     */
+    public static StubServer recording(String targetBaseUri, Path file) {
+        StubServer stub = new StubServer();
+        stub.recordTarget = targetBaseUri.endsWith("/")
+                ? targetBaseUri.substring(0, targetBaseUri.length() - 1) : targetBaseUri;
+        stub.recordingFile = file;
+        stub.recording = new ExchangeStore();
+        stub.upstream = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(Config.getIntProperty("api.timeout", 30000)))
+                .build();
+        return stub;
+    }
+
+    /**
+     * Creates a server that answers from a recording loaded into memory.
+     *
+     * @param file Recording file written in record mode
+     * @return Stub server, not yet started
+     */
+    public static StubServer replaying(Path file) {
+        ExchangeStore store = new ExchangeStore();
+        try {
+            store.load(file);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("No stub recording at " + file + "; record one with stub.mode=record", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load stub recording: " + file, e);
+        }
+        StubServer stub = new StubServer();
+        stub.replay = store;
+        return stub;
+    }
+
+    /**
+     * Starts the server selected by stub.mode (off | record | replay), recording from api.base.url
+     * into stub.file or replaying it with the stub.latency settings.
+     *
+     * @return Started server, or empty when stub.mode is off
+     */
+    public static Optional<StubServer> fromConfig() {
+        String mode = Config.getProperty("stub.mode", "off").toLowerCase();
+        Path file = Paths.get(Config.getProperty("stub.file", "src/test/resources/stubs/booking-api.stub"));
+        switch (mode) {
+            case "off":
+                return Optional.empty();
+            case "record":
+                return Optional.of(recording(Config.getProperty("api.base.url", "https://api.example.com"), file).start());
+            case "replay":
+                StubServer stub = replaying(file);
+                String latency = Config.getProperty("stub.latency", "none").toLowerCase();
+                Duration jitter = Duration.ofMillis(Config.getIntProperty("stub.latency.jitter.ms", 0));
+                if ("recorded".equals(latency)) {
+                    stub.withRecordedLatency(jitter);
+                } else if ("fixed".equals(latency)) {
+                    stub.withLatency(Duration.ofMillis(Config.getIntProperty("stub.latency.ms", 0)), jitter);
+                }
+                return Optional.of(stub.start());
+            default:
+                throw new IllegalArgumentException("Unsupported stub mode: " + mode);
+        }
+    }
+
+    /**
+     * Creates a server with the /bookings routes used by the booking API tests:
+     * list, get, create, update and delete over an in-memory store seeded with three bookings.
+     *
+     * @return Stub server, not yet started
+     */
+    public static StubServer bookings() {
+        Map<Integer, JsonObject> store = new ConcurrentSkipListMap<>();
+        AtomicInteger ids = new AtomicInteger();
+        for (String[] seed : new String[][]{
+                {"John", "Smith", "Standard"}, {"Jane", "Doe", "Deluxe"}, {"Alex", "Brown", "Suite"}}) {
+            JsonObject booking = new JsonObject();
+            booking.addProperty("firstName", seed[0]);
+            booking.addProperty("lastName", seed[1]);
+            booking.addProperty("roomType", seed[2]);
+            booking.addProperty("checkInDate", "2026-03-01");
+            booking.addProperty("checkOutDate", "2026-03-05");
+            int id = ids.incrementAndGet();
+            booking.addProperty("id", id);
+            store.put(id, booking);
+        }
+
+        StubServer stub = new StubServer();
+        stub.route("GET", "/bookings", (path, body) -> new Reply(200, gson.toJson(store.values())));
+        stub.route("GET", "/bookings/(\\d+)", (path, body) -> {
+            JsonObject booking = store.get(Integer.parseInt(path.group(1)));
+            return booking == null ? notFound() : new Reply(200, gson.toJson(booking));
+        });
+        stub.route("POST", "/bookings", (path, body) -> {
+            JsonObject booking = parse(body);
+            if (booking == null) {
+                return new Reply(400, "{\"error\":\"Invalid booking\"}");
+            }
+            int id = ids.incrementAndGet();
+            booking.addProperty("id", id);
+            store.put(id, booking);
+            return new Reply(201, gson.toJson(booking));
+        });
+        stub.route("PUT", "/bookings/(\\d+)", (path, body) -> {
+            int id = Integer.parseInt(path.group(1));
+            JsonObject booking = parse(body);
+            if (booking == null) {
+                return new Reply(400, "{\"error\":\"Invalid booking\"}");
+            }
+            booking.addProperty("id", id);
+            return store.replace(id, booking) == null ? notFound() : new Reply(200, gson.toJson(booking));
+        });
+        stub.route("DELETE", "/bookings/(\\d+)", (path, body) ->
+                store.remove(Integer.parseInt(path.group(1))) == null ? notFound() : new Reply(200, ""));
+        return stub;
+    }
+
+    /**
+     * Adds a route.
+     *
+     * @param method      HTTP method
+     * @param pathPattern Regular expression the whole request path must match
+     * @param handler     Handler producing the reply
+     * @return This server
+     */
+    public StubServer route(String method, String pathPattern, Handler handler) {
+        routes.add(new Route(method, Pattern.compile(pathPattern), handler));
+        return this;
+    }
+
+    /**
+     * Adds a route that always sends the same reply.
+     *
+     * @param method      HTTP method
+     * @param pathPattern Regular expression the whole request path must match
+     * @param status      Status code
+     * @param body        JSON body
+     * @return This server
+     */
+    public StubServer stub(String method, String pathPattern, int status, String body) {
+        Reply reply = new Reply(status, body);
+        return route(method, pathPattern, (path, requestBody) -> reply);
+    }
+
+    /**
+     * Delays every reply that is not proxied by a fixed time plus a random jitter.
+     *
+     * @param fixed  Delay added to every reply
+     * @param jitter Upper bound of an extra random delay
+     * @return This server
+     */
+    public StubServer withLatency(Duration fixed, Duration jitter) {
+        latencyMicros = fixed.toNanos() / 1000;
+        jitterMicros = jitter.toNanos() / 1000;
+        recordedLatency = false;
+        return this;
+    }
+
+    /**
+     * Delays replayed replies by the latency the real API had when they were recorded.
+     *
+     * @param jitter Upper bound of an extra random delay
+     * @return This server
+     */
+    public StubServer withRecordedLatency(Duration jitter) {
+        latencyMicros = 0;
+        jitterMicros = jitter.toNanos() / 1000;
+        recordedLatency = true;
+        return this;
+    }
+
+    /**
+     * Starts the server on a free loopback port.
+     *
+     * @return This server
+     */
+    public StubServer start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start stub server", e);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Config.getIntProperty("stub.server.threads", 16), runnable -> {
+            Thread thread = new Thread(runnable, "stub-server-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        server.start();
+        logger.info("Stub server started at {}", getBaseUri());
+        return this;
+    }
+
+    /**
+     * Gets the base URI clients should use, e.g. for {@code new ApiClient(stub.getBaseUri())}.
+     *
+     * @return Base URI of the running server
+     */
+    public String getBaseUri() {
+        if (server == null) {
+            throw new IllegalStateException("Stub server is not started");
+        }
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server; in record mode the recording file is written.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("Stub server stopped");
+            if (recording != null) {
+                writeRecording();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Reply reply = reply(exchange, body);
+            if (recording == null) {
+                delay(reply);
+            }
+            send(exchange, reply);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Reply reply(HttpExchange exchange, String body) {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getRawQuery();
+        try {
+            for (Route route : routes) {
+                Matcher matcher = route.pattern.matcher(path);
+                if (route.method.equalsIgnoreCase(method) && matcher.matches()) {
+                    return route.handler.handle(matcher, body);
+                }
+            }
+            if (replay != null) {
+                return replay(method, path, query, body);
+            }
+            if (recording != null) {
+                return proxy(exchange, method, path, query, body);
+            }
+            return notFound();
+        } catch (RuntimeException e) {
+            logger.error("Stub server failed to handle {} {}: {}", method, path, e.getMessage());
+            return new Reply(500, "{\"error\":\"Stub handler failed\"}");
+        }
+    }
+
+    private Reply replay(String method, String path, String query, String body) {
+        ExchangeStore.Exchange recorded = replay.find(RequestKey.of(method, path, query, body));
+        if (recorded == null) {
+            logger.warn("No recorded exchange for {} {}", method, uri(path, query));
+            return new Reply(404, "{\"error\":\"No recorded exchange\"}");
+        }
+        return new Reply(recorded.status, recorded.body, recorded.contentType, recorded.latencyMicros);
+    }
+
+    private Reply proxy(HttpExchange exchange, String method, String path, String query, String body) {
+        String uri = uri(path, query);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(recordTarget + uri))
+                .timeout(Duration.ofMillis(Config.getIntProperty("api.timeout", 30000)))
+                .method(method, body.isEmpty() ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+        for (String header : FORWARDED_HEADERS) {
+            String value = exchange.getRequestHeaders().getFirst(header);
+            if (value != null) {
+                request.header(header, value);
+            }
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = upstream.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            logger.error("Stub proxy failed for {} {}: {}", method, uri, e.getMessage());
+            return new Reply(502, "{\"error\":\"Upstream request failed\"}");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Reply(502, "{\"error\":\"Upstream request interrupted\"}");
+        }
+        long latency = (System.nanoTime() - start) / 1000;
+
+        String contentType = response.headers().firstValue("Content-Type").orElse("application/json");
+        recording.record(new ExchangeStore.Exchange(RequestKey.of(method, path, query, body),
+                method, uri, response.statusCode(), contentType, latency, response.body()));
+        return new Reply(response.statusCode(), response.body(), contentType, latency);
+    }
+
+    private void delay(Reply reply) {
+        long micros = recordedLatency ? reply.recordedLatencyMicros : latencyMicros;
+        if (jitterMicros > 0) {
+            micros += ThreadLocalRandom.current().nextLong(jitterMicros + 1);
+        }
+        if (micros > 0) {
+            LockSupport.parkNanos(micros * 1000);
+        }
+    }
+
+    private void writeRecording() {
+        try {
+            recording.write(recordingFile);
+            logger.info("Recorded {} exchanges to {}", recording.size(), recordingFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write stub recording {}: {}", recordingFile, e.getMessage());
+        }
+    }
+
+    private static String uri(String path, String query) {
+        return query == null ? path : path + "?" + query;
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        byte[] bytes = reply.body;
+        exchange.getResponseHeaders().set("Content-Type", reply.contentType);
+        // A fixed length (or -1 for none) keeps the connection open for the next request
+        exchange.sendResponseHeaders(reply.getStatus(), bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static Reply notFound() {
+        return new Reply(404, "{\"error\":\"Not found\"}");
+    }
+
+    private static JsonObject parse(String body) {
+        try {
+            return gson.fromJson(body, JsonObject.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static final class Route {
+
+        private final String method;
+        private final Pattern pattern;
+        private final Handler handler;
+
+        private Route(String method, Pattern pattern, Handler handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.handler = handler;
+        }
+    }
+}
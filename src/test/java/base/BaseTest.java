@@ -1,6 +1,14 @@
 package base;
 
+import api.AuthService;
+import api.AuthSession;
 import config.Config;
+import core.LoginStats;
+import core.NetworkIdleTracker;
+import core.SessionInjector;
+import core.WaitTelemetry;
+import data.TestData;
+import data.User;
 import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,6 +19,7 @@ import org.testng.ITestResult;
 import org.testng.annotations.*;
 
 import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
 
 /**
  * Base test class that provides common setup and teardown functionality.
@@ -29,28 +38,74 @@ public abstract class BaseTest {
     public void beforeSuite() {
         logger.info("========== Starting Test Suite ==========");
         Config.loadConfig();
+        DriverFactory.prewarm();
     }
 
     /**
      * Test-level setup - runs before each test method.
-     * Initializes WebDriver based on configuration.
+     * Initializes WebDriver based on configuration; tests annotated with {@link LoggedIn}
+     * start on base.url already logged in.
+     *
+     * @param method Test method about to run
      */
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
+    public void setUp(Method method) {
         logger.info("Setting up WebDriver for test");
-        driver = DriverFactory.createDriver();
+        driver = DriverFactory.acquireDriver();
         driver.manage().window().maximize();
         
+        if ("network-idle".equalsIgnoreCase(Config.getProperty("page.ready.mode", "dom"))) {
+            NetworkIdleTracker.forDriver(driver);
+        }
+
         String baseUrl = Config.getProperty("base.url");
         if (baseUrl != null && !baseUrl.isEmpty()) {
-            driver.get(baseUrl);
+            LoggedIn loggedIn = method.getAnnotation(LoggedIn.class) != null
+                    ? method.getAnnotation(LoggedIn.class) : getClass().getAnnotation(LoggedIn.class);
+            if (loggedIn != null) {
+                loginViaApi(loggedIn.user(), baseUrl);
+            } else {
+                driver.get(baseUrl);
+            }
             logger.info("Navigated to base URL: {}", baseUrl);
         }
     }
 
+    /**
+     * Logs a user in through the API and opens a page with the session injected into the browser.
+     * Use instead of the login form in tests that only need an authenticated user.
+     *
+     * @param username User from the test data users; empty for test.username
+     * @param url      Page to open
+     * @return Session the browser was given
+     */
+    protected AuthSession loginViaApi(String username, String url) {
+        String user = username.isEmpty() ? TestData.getTestUsername() : username;
+        String password;
+        if (username.isEmpty()) {
+            password = TestData.getTestPassword();
+        } else {
+            User testUser = TestData.getUser(username);
+            if (testUser == null) {
+                throw new IllegalArgumentException("Unknown test user: " + username);
+            }
+            password = testUser.getPassword();
+        }
+
+        long start = System.nanoTime();
+        AuthSession session = AuthService.getSession(user, password);
+        SessionInjector.open(driver, url, session);
+        long elapsed = System.nanoTime() - start;
+        long saved = LoginStats.recordShortcut(elapsed);
+        logger.info("API login as {} took {} ms, about {} ms less than the login form",
+                user, elapsed / 1_000_000, saved);
+        Allure.step("Logged in as " + user + " through the API (saved ~" + saved + " ms)");
+        return session;
+    }
+
     /**
      * Test-level teardown - runs after each test method.
-     * Captures screenshot on failure and quits WebDriver.
+     * Captures screenshot on failure and releases WebDriver.
      */
     @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
@@ -58,9 +113,9 @@ public abstract class BaseTest {
             if (result.getStatus() == ITestResult.FAILURE) {
                 captureScreenshot(result.getName());
             }
-            driver.quit();
-            DriverFactory.removeDriver();
-            logger.info("WebDriver closed successfully");
+            DriverFactory.releaseDriver();
+            driver = null;
+            logger.info("WebDriver released successfully");
         }
     }
 
@@ -69,6 +124,8 @@ public abstract class BaseTest {
      */
     @AfterSuite(alwaysRun = true)
     public void afterSuite() {
+        WaitTelemetry.writeReport();
+        DriverFactory.shutdown();
         logger.info("========== Test Suite Completed ==========");
     }
 
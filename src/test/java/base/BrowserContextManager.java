@@ -0,0 +1,174 @@
+package base;
+
+import core.CdpSupport;
+import core.InteractionContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs one browser per worker thread and gives each test its own isolated
+ * browser context (an incognito-like profile) created over DevTools.
+ * Tests get clean cookies and storage without paying for a browser launch,
+ * and the worker's WebDriver stays the thread-scoped handle.
+ */
+public class BrowserContextManager {
+
+    private static final Logger logger = LogManager.getLogger(BrowserContextManager.class);
+
+    private final Supplier<WebDriver> factory;
+    private final ThreadLocal<Worker> worker = new ThreadLocal<>();
+    private final Set<WebDriver> browsers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a manager that launches worker browsers with the given factory.
+     *
+     * @param factory Creates a new Chromium-based WebDriver session
+     */
+    public BrowserContextManager(Supplier<WebDriver> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Opens a fresh browser context in the current worker's browser and switches to it.
+     *
+     * @return The worker's WebDriver, focused on the new context
+     */
+    public WebDriver openContext() {
+        Worker current = getOrCreateWorker();
+        WebDriver driver = current.driver;
+        long start = System.nanoTime();
+
+        Map<String, Object> context = CdpSupport.execute(driver, "Target.createBrowserContext", Map.of());
+        String contextId = String.valueOf(context.get("browserContextId"));
+
+        Set<String> before = new HashSet<>(driver.getWindowHandles());
+        Map<String, Object> target = CdpSupport.execute(driver, "Target.createTarget",
+                Map.of("url", "about:blank", "browserContextId", contextId, "newWindow", true));
+        String targetId = String.valueOf(target.get("targetId"));
+
+        driver.switchTo().window(findHandle(driver, before, targetId));
+        current.contextId = contextId;
+        logger.debug("Opened browser context {} in {} ms", contextId,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return driver;
+    }
+
+    /**
+     * Closes the current worker's context window and disposes the context.
+     */
+    public void closeContext() {
+        Worker current = worker.get();
+        if (current == null || current.contextId == null) {
+            return;
+        }
+        WebDriver driver = current.driver;
+        try {
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(current.homeHandle)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(current.homeHandle);
+            CdpSupport.execute(driver, "Target.disposeBrowserContext",
+                    Map.of("browserContextId", current.contextId));
+        } catch (Exception e) {
+            logger.warn("Failed to dispose browser context, discarding worker browser: {}", e.getMessage());
+            discard(current);
+        } finally {
+            current.contextId = null;
+        }
+    }
+
+    /**
+     * Quits every worker browser.
+     */
+    public void shutdown() {
+        for (WebDriver driver : browsers) {
+            InteractionContext.release(driver);
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                logger.warn("Failed to quit worker browser: {}", e.getMessage());
+            }
+        }
+        browsers.clear();
+    }
+
+    private Worker getOrCreateWorker() {
+        Worker current = worker.get();
+        if (current != null && isHealthy(current)) {
+            return current;
+        }
+        if (current != null) {
+            discard(current);
+        }
+
+        WebDriver driver = factory.get();
+        if (!CdpSupport.supports(driver)) {
+            driver.quit();
+            throw new IllegalStateException("driver.mode=context requires a Chromium-based local browser");
+        }
+        current = new Worker(driver, driver.getWindowHandle());
+        browsers.add(driver);
+        worker.set(current);
+        logger.info("Started worker browser for thread: {}", Thread.currentThread().getName());
+        return current;
+    }
+
+    private boolean isHealthy(Worker current) {
+        try {
+            current.driver.switchTo().window(current.homeHandle);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void discard(Worker current) {
+        worker.remove();
+        browsers.remove(current.driver);
+        InteractionContext.release(current.driver);
+        try {
+            current.driver.quit();
+        } catch (Exception e) {
+            logger.warn("Failed to quit worker browser: {}", e.getMessage());
+        }
+    }
+
+    private static String findHandle(WebDriver driver, Set<String> before, String targetId) {
+        String candidate = null;
+        for (String handle : driver.getWindowHandles()) {
+            if (handle.equals(targetId) || handle.endsWith(targetId)) {
+                return handle;
+            }
+            if (!before.contains(handle)) {
+                candidate = handle;
+            }
+        }
+        if (candidate == null) {
+            throw new IllegalStateException("No window found for browser context target " + targetId);
+        }
+        return candidate;
+    }
+
+    private static final class Worker {
+
+        private final WebDriver driver;
+        private final String homeHandle;
+        private String contextId;
+
+        private Worker(WebDriver driver, String homeHandle) {
+            this.driver = driver;
+            this.homeHandle = homeHandle;
+        }
+    }
+}
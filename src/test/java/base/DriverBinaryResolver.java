@@ -0,0 +1,187 @@
+package base;
+
+import config.Config;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves browser driver binaries once per JVM.
+ * Resolutions are recorded in an on-disk manifest keyed by browser and version,
+ * so later runs (and air-gapped agents) can start without a network lookup.
+ * When the network is unavailable, a pinned pre-seeded binary path is used.
+ */
+public final class DriverBinaryResolver {
+
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final String MANIFEST_FILE = "driver-manifest.properties";
+    private static final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {}
+
+    /**
+     * Resolves the driver binary for a browser and exports it as the matching
+     * webdriver system property. Subsequent calls return the memoized path.
+     *
+     * @param browser Browser type (chrome, firefox or edge)
+     * @return Absolute path of the driver binary
+     */
+    public static String resolve(String browser) {
+        return resolved.computeIfAbsent(browser, DriverBinaryResolver::resolveOnce);
+    }
+
+    private static String resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String property = systemPropertyFor(browser);
+        String version = Config.getProperty("driver." + browser + ".version", "");
+        String key = browser + "." + (version.isEmpty() ? "auto" : version);
+
+        String preset = System.getProperty(property);
+        if (isExecutable(preset)) {
+            return finish(browser, preset, "system property", start);
+        }
+
+        Properties manifest = loadManifest();
+        String cached = manifest.getProperty(key + ".path");
+        boolean offline = Config.getBooleanProperty("driver.resolve.offline", false);
+        if (isExecutable(cached) && (offline || !version.isEmpty() || isFresh(manifest, key))) {
+            System.setProperty(property, cached);
+            return finish(browser, cached, "manifest", start);
+        }
+
+        if (!offline) {
+            try {
+                WebDriverManager manager = managerFor(browser).cachePath(cacheDir().toString());
+                if (!version.isEmpty()) {
+                    manager.driverVersion(version);
+                }
+                manager.setup();
+                String path = manager.getDownloadedDriverPath();
+                recordInManifest(key, path, manager.getDownloadedDriverVersion());
+                System.setProperty(property, path);
+                return finish(browser, path, "WebDriverManager", start);
+            } catch (Exception e) {
+                logger.warn("Online driver resolution failed for {}: {}", browser, e.getMessage());
+            }
+        }
+
+        if (isExecutable(cached)) {
+            System.setProperty(property, cached);
+            return finish(browser, cached, "stale manifest entry", start);
+        }
+
+        String pinned = Config.getProperty("driver." + browser + ".path", "");
+        if (isExecutable(pinned)) {
+            System.setProperty(property, pinned);
+            return finish(browser, pinned, "pinned path", start);
+        }
+
+        throw new RuntimeException("Unable to resolve driver binary for " + browser
+                + ": no network resolution, manifest entry or driver." + browser + ".path available");
+    }
+
+    private static String finish(String browser, String path, String source, long start) {
+        logger.info("Resolved {} driver from {} in {} ms: {}", browser, source,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), path);
+        return path;
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            case "chrome":
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static String systemPropertyFor(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            case "chrome":
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static boolean isExecutable(String path) {
+        return path != null && !path.isEmpty() && Files.isRegularFile(Paths.get(path));
+    }
+
+    private static boolean isFresh(Properties manifest, String key) {
+        long ttlHours = Config.getIntProperty("driver.cache.ttl.hours", 24);
+        String resolvedAt = manifest.getProperty(key + ".resolvedAt");
+        try {
+            long age = System.currentTimeMillis() - Long.parseLong(resolvedAt);
+            return age < TimeUnit.HOURS.toMillis(ttlHours);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static Path cacheDir() {
+        String dir = Config.getProperty("driver.cache.dir", "");
+        if (dir.isEmpty()) {
+            return Paths.get(System.getProperty("user.home"), ".cache", "automation-drivers");
+        }
+        return Paths.get(dir);
+    }
+
+    private static synchronized Properties loadManifest() {
+        Properties manifest = new Properties();
+        Path file = cacheDir().resolve(MANIFEST_FILE);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                logger.warn("Failed to read driver manifest {}: {}", file, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static synchronized void recordInManifest(String key, String path, String version) {
+        Properties manifest = loadManifest();
+        String resolvedAt = String.valueOf(System.currentTimeMillis());
+        manifest.setProperty(key + ".path", path);
+        manifest.setProperty(key + ".version", String.valueOf(version));
+        manifest.setProperty(key + ".resolvedAt", resolvedAt);
+        if (version != null && !key.endsWith("." + version)) {
+            String versionKey = key.substring(0, key.indexOf('.')) + "." + version;
+            manifest.setProperty(versionKey + ".path", path);
+            manifest.setProperty(versionKey + ".version", version);
+            manifest.setProperty(versionKey + ".resolvedAt", resolvedAt);
+        }
+
+        Path dir = cacheDir();
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "manifest", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                manifest.store(out, "Resolved WebDriver binaries");
+            }
+            Files.move(tmp, dir.resolve(MANIFEST_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write driver manifest in {}: {}", dir, e.getMessage());
+        }
+    }
+}
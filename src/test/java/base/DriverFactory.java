@@ -1,7 +1,8 @@
 package base;
 
 import config.Config;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import core.CommandCounter;
+import core.InteractionContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
@@ -17,6 +18,7 @@ import org.openqa.selenium.safari.SafariDriver;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.Optional;
 
 /**
  * Factory class for creating WebDriver instances.
@@ -27,6 +29,8 @@ public class DriverFactory {
 
     private static final Logger logger = LogManager.getLogger(DriverFactory.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static volatile DriverPool pool;
+    private static volatile BrowserContextManager contextManager;
 
     /**
      * Creates a WebDriver instance based on configuration.
@@ -34,6 +38,131 @@ public class DriverFactory {
      * @return WebDriver instance
      */
     public static WebDriver createDriver() {
+        WebDriver driver = newSession();
+        driverThreadLocal.set(driver);
+        return driver;
+    }
+
+    /**
+     * Obtains a WebDriver for the current test according to driver.mode.
+     * In "pool" mode a warm session is leased from the shared pool,
+     * in "context" mode the worker's browser opens a fresh isolated browser context,
+     * in "per-test" mode a new browser is launched.
+     *
+     * @return WebDriver instance bound to the current thread
+     */
+    public static WebDriver acquireDriver() {
+        WebDriver driver;
+        switch (getMode()) {
+            case "pool":
+                driver = getPool().lease();
+                break;
+            case "context":
+                driver = getContextManager().openContext();
+                break;
+            default:
+                return createDriver();
+        }
+        driverThreadLocal.set(driver);
+        return driver;
+    }
+
+    /**
+     * Releases the current thread's WebDriver.
+     * Pooled sessions are reset and returned, isolated contexts are disposed
+     * while the worker browser stays open, and per-test sessions are quit.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        driverThreadLocal.remove();
+        if (driver == null) {
+            return;
+        }
+        String mode = getMode();
+        if (pool != null && "pool".equals(mode)) {
+            pool.release(driver);
+        } else if (contextManager != null && "context".equals(mode)) {
+            contextManager.closeContext();
+        } else {
+            InteractionContext.release(driver);
+            driver.quit();
+        }
+    }
+
+    /**
+     * Starts pre-warming sessions in the background so the first tests find a warm browser.
+     * Only applies in pool mode with a positive driver.prewarm.count.
+     */
+    public static void prewarm() {
+        if ("pool".equals(getMode())) {
+            getPool().prewarm();
+        }
+    }
+
+    /**
+     * Shuts down the session pool, quitting all idle and pre-warmed sessions,
+     * quits context-mode worker browsers, then stops any shared driver services.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        if (contextManager != null) {
+            contextManager.shutdown();
+            contextManager = null;
+        }
+        DriverServiceManager.shutdown();
+    }
+
+    /**
+     * Gets the session pool statistics, if the pool has been used.
+     *
+     * @return Pool statistics or empty when pooling is not active
+     */
+    public static Optional<DriverPool.Stats> getPoolStats() {
+        DriverPool current = pool;
+        return current != null ? Optional.of(current.getStats()) : Optional.empty();
+    }
+
+    private static String getMode() {
+        return Config.getProperty("driver.mode", "pool").toLowerCase();
+    }
+
+    private static synchronized BrowserContextManager getContextManager() {
+        if (contextManager == null) {
+            contextManager = new BrowserContextManager(DriverFactory::newSession);
+            logger.info("Browser-context isolation mode initialized");
+        }
+        return contextManager;
+    }
+
+    private static DriverPool getPool() {
+        DriverPool current = pool;
+        if (current == null) {
+            synchronized (DriverFactory.class) {
+                if (pool == null) {
+                    int size = Config.getIntProperty("driver.pool.size", 3);
+                    int leaseTimeout = Config.getIntProperty("driver.pool.lease.timeout", 120);
+                    int lookAhead = Config.getIntProperty("driver.prewarm.count", 0);
+                    pool = new DriverPool(DriverFactory::newSession, size, Duration.ofSeconds(leaseTimeout), lookAhead);
+                    logger.info("WebDriver session pool initialized with max size: {}, look-ahead: {}",
+                            size, lookAhead);
+                }
+                current = pool;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Launches and configures a new WebDriver session without binding it to a thread.
+     * With driver.command.counting enabled the session is wrapped so its commands
+     * are counted by {@link CommandCounter}.
+     *
+     * @return WebDriver instance
+     */
+    private static WebDriver newSession() {
         String browser = Config.getProperty("browser", "chrome").toLowerCase();
         boolean headless = Boolean.parseBoolean(Config.getProperty("headless", "false"));
         String remoteUrl = Config.getProperty("remote.url");
@@ -47,23 +176,31 @@ public class DriverFactory {
         }
 
         configureTimeouts(driver);
-        driverThreadLocal.set(driver);
         logger.info("WebDriver created successfully: {}", browser);
-        
+
+        if (CommandCounter.isEnabled()) {
+            driver = CommandCounter.decorate(driver);
+        }
         return driver;
     }
 
     /**
      * Creates a local WebDriver instance.
+     * With driver.service.shared enabled, Chrome and Edge sessions are opened
+     * against one shared driver service instead of spawning a service per session.
      *
      * @param browser  Browser type
      * @param headless Whether to run in headless mode
      * @return WebDriver instance
      */
     private static WebDriver createLocalDriver(String browser, boolean headless) {
+        if (Config.getBooleanProperty("driver.service.shared", false) && DriverServiceManager.supports(browser)) {
+            return createSharedServiceDriver(browser, headless);
+        }
+
         switch (browser) {
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
+                DriverBinaryResolver.resolve("firefox");
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 if (headless) {
                     firefoxOptions.addArguments("-headless");
@@ -71,7 +208,7 @@ public class DriverFactory {
                 return new FirefoxDriver(firefoxOptions);
 
             case "edge":
-                WebDriverManager.edgedriver().setup();
+                DriverBinaryResolver.resolve("edge");
                 EdgeOptions edgeOptions = new EdgeOptions();
                 if (headless) {
                     edgeOptions.addArguments("--headless");
@@ -83,12 +220,31 @@ public class DriverFactory {
 
             case "chrome":
             default:
-                WebDriverManager.chromedriver().setup();
+                DriverBinaryResolver.resolve("chrome");
                 ChromeOptions chromeOptions = getChromeOptions(headless);
                 return new ChromeDriver(chromeOptions);
         }
     }
 
+    /**
+     * Creates a session against the shared driver service for the browser.
+     *
+     * @param browser  Browser type (chrome or edge)
+     * @param headless Whether to run in headless mode
+     * @return WebDriver instance
+     */
+    private static WebDriver createSharedServiceDriver(String browser, boolean headless) {
+        URL serviceUrl = DriverServiceManager.getServiceUrl(browser);
+        if ("edge".equals(browser)) {
+            EdgeOptions edgeOptions = new EdgeOptions();
+            if (headless) {
+                edgeOptions.addArguments("--headless");
+            }
+            return new SharedServiceDriver(serviceUrl, edgeOptions);
+        }
+        return new SharedServiceDriver(serviceUrl, getChromeOptions(headless));
+    }
+
     /**
      * Creates a remote WebDriver instance for Selenium Grid.
      *
@@ -153,16 +309,19 @@ public class DriverFactory {
     }
 
     /**
-     * Configures implicit and page load timeouts.
+     * Configures implicit, page load and script timeouts.
+     * In wait.mode=explicit the implicit wait is zero and all waiting goes through core.Waits.
      *
      * @param driver WebDriver instance
      */
     private static void configureTimeouts(WebDriver driver) {
-        int implicitWait = Integer.parseInt(Config.getProperty("implicit.wait", "10"));
+        boolean explicitOnly = "explicit".equalsIgnoreCase(Config.getProperty("wait.mode", "explicit"));
+        int implicitWait = explicitOnly ? 0 : Integer.parseInt(Config.getProperty("implicit.wait", "10"));
         int pageLoadTimeout = Integer.parseInt(Config.getProperty("page.load.timeout", "30"));
 
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(Config.getIntProperty("script.timeout", 30)));
     }
 
     /**
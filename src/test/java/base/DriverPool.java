@@ -0,0 +1,446 @@
+package base;
+
+import core.CdpSupport;
+import core.InteractionContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe pool of warm WebDriver sessions.
+ * Tests lease a session instead of launching a new browser, and the session
+ * is reset to a blank state when it is returned.
+ * With a positive look-ahead, sessions are started in the background so the
+ * next lease finds a warm browser instead of paying the launch cost.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+
+    // Waiting leases re-check for a free slot this often, e.g. after an eviction
+    private static final long RESERVE_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final Duration leaseTimeout;
+    private final int lookAhead;
+    private final ExecutorService prewarmExecutor;
+
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> all = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger warming = new AtomicInteger();
+    private final Map<WebDriver, Long> prewarmed = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAdder sessionsCreated = new LongAdder();
+    private final LongAdder creationNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder prewarmCreated = new LongAdder();
+    private final LongAdder hiddenCreationNanos = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool backed by the given session factory.
+     *
+     * @param factory      Creates a new, fully configured WebDriver session
+     * @param maxSize      Maximum number of live sessions
+     * @param leaseTimeout Maximum time to wait for a free session
+     */
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, Duration leaseTimeout) {
+        this(factory, maxSize, leaseTimeout, 0);
+    }
+
+    /**
+     * Creates a pool that keeps up to {@code lookAhead} idle sessions warming in the background.
+     *
+     * @param factory      Creates a new, fully configured WebDriver session
+     * @param maxSize      Maximum number of live sessions
+     * @param leaseTimeout Maximum time to wait for a free session
+     * @param lookAhead    Number of idle sessions to keep ready ahead of demand
+     */
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, Duration leaseTimeout, int lookAhead) {
+        this.factory = factory;
+        this.maxSize = Math.max(1, maxSize);
+        this.leaseTimeout = leaseTimeout;
+        this.lookAhead = Math.max(0, Math.min(lookAhead, this.maxSize));
+        this.prewarmExecutor = this.lookAhead > 0 ? newPrewarmExecutor(this.lookAhead) : null;
+    }
+
+    /**
+     * Leases a healthy session, creating one if the pool is not yet full.
+     *
+     * @return WebDriver instance owned by the caller until released
+     */
+    public WebDriver lease() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool is shut down");
+        }
+        long start = System.nanoTime();
+        long deadline = start + leaseTimeout.toNanos();
+
+        while (true) {
+            WebDriver driver = idle.pollFirst();
+            if (driver == null && !tryReserve()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Timed out waiting for a pooled WebDriver after " + leaseTimeout);
+                }
+                try {
+                    driver = idle.pollFirst(Math.min(remaining, RESERVE_RECHECK_NANOS), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for a pooled WebDriver", e);
+                }
+                if (driver == null) {
+                    continue;
+                }
+            }
+
+            if (driver == null) {
+                leaseWaitNanos.add(System.nanoTime() - start);
+                misses.increment();
+                WebDriver created = createReserved();
+                prewarm();
+                return created;
+            }
+
+            Long hidden = prewarmed.remove(driver);
+            if (isHealthy(driver)) {
+                leaseWaitNanos.add(System.nanoTime() - start);
+                hits.increment();
+                if (hidden != null) {
+                    hiddenCreationNanos.add(hidden);
+                }
+                prewarm();
+                return driver;
+            }
+            evict(driver);
+        }
+    }
+
+    /**
+     * Returns a leased session to the pool after resetting it.
+     * Sessions that cannot be reset are evicted.
+     *
+     * @param driver WebDriver instance previously obtained from {@link #lease()}
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (closed) {
+            evict(driver);
+            return;
+        }
+        try {
+            reset(driver);
+            idle.offerFirst(driver);
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled WebDriver, evicting it: {}", e.getMessage());
+            evict(driver);
+        }
+    }
+
+    /**
+     * Starts background sessions until the look-ahead is satisfied or the pool is full.
+     * Does nothing when the look-ahead is zero.
+     */
+    public void prewarm() {
+        if (prewarmExecutor == null || closed) {
+            return;
+        }
+        while (idle.size() + warming.get() < lookAhead && tryReserve()) {
+            warming.incrementAndGet();
+            prewarmExecutor.execute(this::createInBackground);
+        }
+    }
+
+    /**
+     * Quits every idle session, including leftover pre-warmed ones, and rejects further leases.
+     */
+    public void shutdown() {
+        closed = true;
+        if (prewarmExecutor != null) {
+            prewarmExecutor.shutdown();
+            try {
+                if (!prewarmExecutor.awaitTermination(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    prewarmExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                prewarmExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            quitQuietly(driver);
+            all.remove(driver);
+            prewarmed.remove(driver);
+        }
+        logger.info("Driver pool shut down: {}", getStats());
+    }
+
+    /**
+     * Gets a snapshot of the pool counters.
+     *
+     * @return Pool statistics
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), leaseWaitNanos.sum(), sessionsCreated.sum(),
+                creationNanos.sum(), evictions.sum(), all.size(), idle.size(),
+                prewarmCreated.sum(), hiddenCreationNanos.sum());
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            int current = reserved.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private WebDriver createReserved() {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = factory.get();
+            creationNanos.add(System.nanoTime() - start);
+            sessionsCreated.increment();
+            all.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            reserved.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void createInBackground() {
+        try {
+            long start = System.nanoTime();
+            WebDriver driver = createReserved();
+            long elapsed = System.nanoTime() - start;
+            prewarmCreated.increment();
+            if (closed) {
+                all.remove(driver);
+                reserved.decrementAndGet();
+                quitQuietly(driver);
+                return;
+            }
+            prewarmed.put(driver, elapsed);
+            idle.offerLast(driver);
+            logger.debug("Pre-warmed WebDriver session in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (Exception e) {
+            logger.warn("Failed to pre-warm WebDriver session: {}", e.getMessage());
+        } finally {
+            warming.decrementAndGet();
+        }
+    }
+
+    private static ExecutorService newPrewarmExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prewarm-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Pooled WebDriver failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Leaves the session with one fresh tab and no cookies or storage. A new tab drops the
+     * sessionStorage of every origin. On Chromium, cookies and storage of every origin the
+     * session still knows about (open windows and cookie domains) are cleared over DevTools;
+     * other browsers clear the origin shown in each window.
+     */
+    private void reset(WebDriver driver) {
+        boolean cdp = CdpSupport.supports(driver);
+        Set<String> handles = driver.getWindowHandles();
+        Set<String> origins = new LinkedHashSet<>();
+        for (String handle : handles) {
+            driver.switchTo().window(handle);
+            addOrigin(origins, driver.getCurrentUrl());
+            if (!cdp) {
+                driver.manage().deleteAllCookies();
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); } catch (e) {}"
+                                + "try { window.sessionStorage.clear(); } catch (e) {}");
+            }
+        }
+
+        driver.switchTo().newWindow(WindowType.TAB);
+        String fresh = driver.getWindowHandle();
+        for (String handle : handles) {
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        driver.switchTo().window(fresh);
+
+        if (cdp) {
+            clearAllOrigins(driver, origins);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void clearAllOrigins(WebDriver driver, Set<String> origins) {
+        Object cookies = CdpSupport.execute(driver, "Network.getAllCookies", Map.of()).get("cookies");
+        if (cookies instanceof List) {
+            for (Map<String, Object> cookie : (List<Map<String, Object>>) cookies) {
+                String domain = String.valueOf(cookie.get("domain"));
+                domain = domain.startsWith(".") ? domain.substring(1) : domain;
+                origins.add("https://" + domain);
+                origins.add("http://" + domain);
+            }
+        }
+        for (String origin : origins) {
+            CdpSupport.execute(driver, "Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+        }
+        CdpSupport.execute(driver, "Network.clearBrowserCookies", Map.of());
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() != null && uri.getScheme() != null && uri.getScheme().startsWith("http")) {
+                origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : ""));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.debug("Not clearing storage for unparsable URL {}", url);
+        }
+    }
+
+    private void evict(WebDriver driver) {
+        evictions.increment();
+        if (all.remove(driver)) {
+            reserved.decrementAndGet();
+        }
+        quitQuietly(driver);
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        InteractionContext.release(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Failed to quit WebDriver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Immutable snapshot of pool counters.
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long leaseWaitNanos;
+        private final long sessionsCreated;
+        private final long creationNanos;
+        private final long evictions;
+        private final int liveSessions;
+        private final int idleSessions;
+        private final long prewarmed;
+        private final long hiddenCreationNanos;
+
+        Stats(long hits, long misses, long leaseWaitNanos, long sessionsCreated,
+              long creationNanos, long evictions, int liveSessions, int idleSessions,
+              long prewarmed, long hiddenCreationNanos) {
+            this.hits = hits;
+            this.misses = misses;
+            this.leaseWaitNanos = leaseWaitNanos;
+            this.sessionsCreated = sessionsCreated;
+            this.creationNanos = creationNanos;
+            this.evictions = evictions;
+            this.liveSessions = liveSessions;
+            this.idleSessions = idleSessions;
+            this.prewarmed = prewarmed;
+            this.hiddenCreationNanos = hiddenCreationNanos;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getLeaseWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos);
+        }
+
+        public long getSessionsCreated() {
+            return sessionsCreated;
+        }
+
+        public long getCreationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(creationNanos);
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getLiveSessions() {
+            return liveSessions;
+        }
+
+        public int getIdleSessions() {
+            return idleSessions;
+        }
+
+        public long getPrewarmed() {
+            return prewarmed;
+        }
+
+        /**
+         * Session-creation time spent on background threads for sessions that were later leased.
+         *
+         * @return Creation time hidden from the critical path, in milliseconds
+         */
+        public long getHiddenCreationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(hiddenCreationNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, leaseWait=%dms, sessionsCreated=%d, creationTime=%dms, "
+                            + "evictions=%d, live=%d, idle=%d, prewarmed=%d, hiddenCreationTime=%dms",
+                    hits, misses, getLeaseWaitMillis(), sessionsCreated, getCreationMillis(),
+                    evictions, liveSessions, idleSessions, prewarmed, getHiddenCreationMillis());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package base;
+
+import config.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one driver service process per browser for the whole JVM.
+ * Sessions are opened against the shared service through RemoteWebDriver,
+ * so parallel tests do not each spawn their own chromedriver/msedgedriver.
+ * A background monitor restarts a service that dies mid-suite.
+ */
+public final class DriverServiceManager {
+
+    private static final Logger logger = LogManager.getLogger(DriverServiceManager.class);
+    private static final Map<String, DriverService> services = new ConcurrentHashMap<>();
+    private static final AtomicInteger restarts = new AtomicInteger();
+    private static ScheduledExecutorService monitor;
+
+    private DriverServiceManager() {}
+
+    /**
+     * Checks whether a browser's driver can serve several sessions from one process.
+     * geckodriver only supports a single session per process, so Firefox is excluded.
+     *
+     * @param browser Browser type
+     * @return true if a shared service can be used
+     */
+    public static boolean supports(String browser) {
+        return "chrome".equals(browser) || "edge".equals(browser);
+    }
+
+    /**
+     * Gets the URL of the shared service for a browser, starting or restarting it as needed.
+     *
+     * @param browser Browser type (chrome or edge)
+     * @return Service URL to open RemoteWebDriver sessions against
+     */
+    public static synchronized URL getServiceUrl(String browser) {
+        DriverService service = services.get(browser);
+        if (service == null || !service.isRunning()) {
+            if (service != null) {
+                restarts.incrementAndGet();
+                logger.warn("Shared {} driver service is not running, restarting it", browser);
+            }
+            service = start(browser);
+            services.put(browser, service);
+            startMonitor();
+        }
+        return service.getUrl();
+    }
+
+    /**
+     * Stops the health monitor and every shared service.
+     */
+    public static synchronized void shutdown() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            monitor = null;
+        }
+        services.forEach((browser, service) -> {
+            service.stop();
+            logger.info("Stopped shared {} driver service", browser);
+        });
+        services.clear();
+    }
+
+    /**
+     * Gets the number of services restarted after dying mid-suite.
+     *
+     * @return Restart count
+     */
+    public static int getRestartCount() {
+        return restarts.get();
+    }
+
+    private static DriverService start(String browser) {
+        File executable = new File(DriverBinaryResolver.resolve(browser));
+        long start = System.nanoTime();
+
+        DriverService service;
+        if ("edge".equals(browser)) {
+            service = new EdgeDriverService.Builder()
+                    .usingDriverExecutable(executable)
+                    .usingAnyFreePort()
+                    .build();
+        } else {
+            service = new ChromeDriverService.Builder()
+                    .usingDriverExecutable(executable)
+                    .usingAnyFreePort()
+                    .build();
+        }
+
+        try {
+            service.start();
+        } catch (IOException e) {
+            logger.error("Failed to start shared {} driver service: {}", browser, e.getMessage());
+            throw new RuntimeException("Failed to start shared driver service for " + browser, e);
+        }
+        logger.info("Started shared {} driver service at {} in {} ms", browser, service.getUrl(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return service;
+    }
+
+    private static void startMonitor() {
+        if (monitor != null) {
+            return;
+        }
+        int interval = Config.getIntProperty("driver.service.health.interval", 5);
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "driver-service-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(DriverServiceManager::checkHealth, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private static void checkHealth() {
+        for (String browser : services.keySet()) {
+            try {
+                getServiceUrl(browser);
+            } catch (Exception e) {
+                logger.error("Health check failed for shared {} driver service: {}", browser, e.getMessage());
+            }
+        }
+    }
+}
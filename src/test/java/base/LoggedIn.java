@@ -0,0 +1,22 @@
+package base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts the annotated test (or every test of the annotated class) already logged in:
+ * {@link BaseTest} logs the user in through the API and opens base.url with the session
+ * injected, instead of the test driving the login form.
+ * Only tests of the login form itself should keep using LoginFlow.loginAs.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface LoggedIn {
+
+    /**
+     * User to log in as, looked up in the test data users; empty for test.username.
+     */
+    String user() default "";
+}
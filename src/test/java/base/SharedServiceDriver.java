@@ -0,0 +1,40 @@
+package base;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.CommandInfo;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.HttpMethod;
+
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * RemoteWebDriver session opened against a shared chromedriver/msedgedriver service.
+ * Keeps the Chrome DevTools command endpoint that a plain RemoteWebDriver does not expose.
+ */
+public class SharedServiceDriver extends RemoteWebDriver implements HasCdp {
+
+    private static final String EXECUTE_CDP = "executeCdpCommand";
+
+    public SharedServiceDriver(URL serviceUrl, Capabilities capabilities) {
+        super(new HttpCommandExecutor(
+                Map.of(EXECUTE_CDP, new CommandInfo(cdpPath(capabilities), HttpMethod.POST)),
+                serviceUrl), capabilities);
+    }
+
+    private static String cdpPath(Capabilities capabilities) {
+        String vendor = "MicrosoftEdge".equals(capabilities.getBrowserName()) ? "ms" : "goog";
+        return "/session/:sessionId/" + vendor + "/cdp/execute";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> parameters) {
+        Response response = execute(EXECUTE_CDP, Map.of("cmd", commandName,
+                "params", parameters != null ? parameters : Map.of()));
+        return (Map<String, Object>) response.getValue();
+    }
+}
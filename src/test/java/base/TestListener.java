@@ -1,11 +1,18 @@
 package base;
 
+import api.BufferedLoggingFilter;
+import api.HttpConnectionPool;
+import core.CommandCounter;
+import core.ElementCache;
+import core.LoginStats;
+import core.NegativeCheckStats;
 import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IConfigurationListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
@@ -16,7 +23,7 @@ import java.io.ByteArrayInputStream;
  * TestNG listener for test execution events.
  * Integrates with Allure for reporting and logging.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, IConfigurationListener {
 
     private static final Logger logger = LogManager.getLogger(TestListener.class);
 
@@ -31,6 +38,14 @@ public class TestListener implements ITestListener {
         logger.info("Passed tests: {}", context.getPassedTests().size());
         logger.info("Failed tests: {}", context.getFailedTests().size());
         logger.info("Skipped tests: {}", context.getSkippedTests().size());
+        DriverFactory.getPoolStats().ifPresent(stats -> logger.info("WebDriver pool: {}", stats));
+        logger.info("Negative checks: {}", NegativeCheckStats.summary());
+        if (CommandCounter.isEnabled()) {
+            logger.info("WebDriver commands: {}", CommandCounter.getTotal());
+        }
+        logger.info("Element cache: {}", ElementCache.summary());
+        logger.info("Login shortcut: {}", LoginStats.summary());
+        HttpConnectionPool.getStats().ifPresent(stats -> logger.info("HTTP connection pool: {}", stats));
     }
 
     @Override
@@ -38,6 +53,9 @@ public class TestListener implements ITestListener {
         logger.info("Test started: {}.{}", 
             result.getTestClass().getName(), 
             result.getMethod().getMethodName());
+        NegativeCheckStats.startTest();
+        CommandCounter.startTest();
+        BufferedLoggingFilter.clear();
     }
 
     @Override
@@ -45,6 +63,7 @@ public class TestListener implements ITestListener {
         logger.info("Test PASSED: {}.{}", 
             result.getTestClass().getName(), 
             result.getMethod().getMethodName());
+        logTestCosts(result);
     }
 
     @Override
@@ -53,12 +72,15 @@ public class TestListener implements ITestListener {
             result.getTestClass().getName(), 
             result.getMethod().getMethodName());
         logger.error("Failure reason: {}", result.getThrowable().getMessage());
+        logTestCosts(result);
         
         // Capture screenshot on failure
         captureScreenshotOnFailure(result);
         
         // Attach exception to Allure report
         Allure.addAttachment("Exception", result.getThrowable().toString());
+
+        attachApiExchanges(result);
     }
 
     @Override
@@ -85,6 +107,49 @@ public class TestListener implements ITestListener {
             result.getTestClass().getName(), 
             result.getMethod().getMethodName());
         captureScreenshotOnFailure(result);
+        attachApiExchanges(result);
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        logger.error("Configuration FAILED: {}.{}",
+            result.getTestClass().getName(),
+            result.getMethod().getMethodName());
+        // Exchanges from a failing @BeforeClass or @BeforeMethod would otherwise be cleared unseen
+        attachApiExchanges(result);
+    }
+
+    /**
+     * Logs the WebDriver commands the test issued (with driver.command.counting) and the time it spent in negative presence checks.
+     *
+     * @param result Test result
+     */
+    private void logTestCosts(ITestResult result) {
+        if (CommandCounter.isEnabled()) {
+            logger.info("WebDriver commands in {}: {}",
+                result.getMethod().getMethodName(), CommandCounter.getTestCommands());
+        }
+        long count = NegativeCheckStats.getTestNegatives();
+        if (count > 0) {
+            logger.info("Negative checks in {}: {} took {} ms",
+                result.getMethod().getMethodName(), count, NegativeCheckStats.getTestNegativeMillis());
+        }
+    }
+
+    /**
+     * Writes the API exchanges buffered during the failed test or configuration method
+     * to the log and the Allure report.
+     *
+     * @param result Test result
+     */
+    private void attachApiExchanges(ITestResult result) {
+        String exchanges = BufferedLoggingFilter.getBufferedExchanges();
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        logger.error("API exchanges in {}:\n{}", result.getMethod().getMethodName(), exchanges);
+        Allure.addAttachment("API exchanges", "text/plain", exchanges, ".txt");
+        BufferedLoggingFilter.clear();
     }
 
     /**
@@ -5,6 +5,8 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Properties;
 
 public class Config {
@@ -12,6 +14,7 @@ public class Config {
     private static final Logger logger = LogManager.getLogger(Config.class);
     private static final Properties properties = new Properties();
     private static final String CONFIG_FILE = "src/test/resources/config.properties";
+    private static final String ENV_CONFIG_FILE = "src/test/resources/config-%s.properties";
 
     private Config() {}
 
@@ -23,6 +26,26 @@ public class Config {
             logger.error("Failed to load config file: {}", e.getMessage());
             throw new RuntimeException("Failed to load configuration", e);
         }
+        loadEnvironmentOverrides();
+    }
+
+    private static void loadEnvironmentOverrides() {
+        String env = getProperty("env");
+        if (env == null || env.isEmpty()) {
+            return;
+        }
+        String envFile = String.format(ENV_CONFIG_FILE, env);
+        if (!Files.exists(Paths.get(envFile))) {
+            logger.warn("No configuration overrides found for environment '{}': {}", env, envFile);
+            return;
+        }
+        try (FileInputStream fis = new FileInputStream(envFile)) {
+            properties.load(fis);
+            logger.info("Configuration overrides for '{}' loaded from: {}", env, envFile);
+        } catch (IOException e) {
+            logger.error("Failed to load environment config file: {}", e.getMessage());
+            throw new RuntimeException("Failed to load configuration for environment: " + env, e);
+        }
     }
 
     public static String getProperty(String key) {
@@ -7,137 +7,587 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.Select;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 public class ActionsEx {
 
     private static final Logger logger = LogManager.getLogger(ActionsEx.class);
+
+    /**
+     * Reads fields from every element matching a locator in one command.
+     * Field "text" is the rendered text, empty for hidden elements as with {@link WebElement#getText()};
+     * any other field is read like {@link WebElement#getAttribute(String)}: the attribute, else the property.
+     * Returns a list of rows, each a list of field values.
+     */
+    private static final String SCRIPT_READ_ALL = ScriptLocator.FIND_ALL_FUNCTION
+            + ScriptLocator.IS_VISIBLE_FUNCTION
+            + "var fields = arguments[2];"
+            + "function read(el, field) {"
+            + "  if (field === 'text') { return isVisible(el) ? (el.innerText || '').trim() : ''; }"
+            + "  var value = el.getAttribute(field);"
+            + "  if (value === null && field in el && el[field] !== null) { value = String(el[field]); }"
+            + "  return value;"
+            + "}"
+            + "return findAll(arguments[0], arguments[1]).map(function (el) {"
+            + "  return fields.map(function (field) { return read(el, field); });"
+            + "});";
+
+    /**
+     * Sets the value of each field through the native value setter of its element type (so
+     * framework-managed inputs see the change), or the text of a contenteditable element,
+     * fires input and change events, then optionally clicks the submit element.
+     * Returns -1 on success, or the index of the first field that is missing or disabled
+     * (the field count for a missing submit element) without touching the page.
+     */
+    private static final String SCRIPT_FILL_FORM = ScriptLocator.FIND_ALL_FUNCTION
+            + "var fields = arguments[0], submit = arguments[1], elements = [];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var el = findAll(fields[i][0], fields[i][1])[0];"
+            + "  if (!el || el.disabled) { return i; }"
+            + "  elements.push(el);"
+            + "}"
+            + "var button = submit ? findAll(submit[0], submit[1])[0] : null;"
+            + "if (submit && (!button || button.disabled)) { return fields.length; }"
+            + "elements.forEach(function (el, i) {"
+            + "  var value = fields[i][2];"
+            + "  var proto = el instanceof HTMLInputElement ? HTMLInputElement.prototype"
+            + "      : el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "      : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : null;"
+            + "  var descriptor = proto ? Object.getOwnPropertyDescriptor(proto, 'value') : null;"
+            + "  el.focus();"
+            + "  if (descriptor && descriptor.set) { descriptor.set.call(el, value); }"
+            + "  else if (el.isContentEditable) { el.textContent = value; }"
+            + "  else { el.value = value; }"
+            + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  el.blur();"
+            + "});"
+            + "if (button) { button.click(); }"
+            + "return -1;";
+
+    /**
+     * Captures count, visibility, text and attributes of the first match for each locator.
+     * Takes a list of [using, value] pairs and returns one entry per pair.
+     */
+    private static final String SCRIPT_SNAPSHOT = ScriptLocator.FIND_ALL_FUNCTION
+            + ScriptLocator.IS_VISIBLE_FUNCTION
+            + "return arguments[0].map(function (locator) {"
+            + "  var elements = findAll(locator[0], locator[1]), first = elements[0];"
+            + "  var entry = { count: elements.length, visible: false, text: null, attributes: {} };"
+            + "  if (first) {"
+            + "    entry.visible = isVisible(first);"
+            + "    entry.text = entry.visible ? (first.innerText || '').trim() : '';"
+            + "    for (var i = 0; i < first.attributes.length; i++) {"
+            + "      entry.attributes[first.attributes[i].name] = first.attributes[i].value;"
+            + "    }"
+            + "  }"
+            + "  return entry;"
+            + "});";
+
+    private static final String SCRIPT_COUNT = ScriptLocator.FIND_ALL_FUNCTION
+            + "return findAll(arguments[0], arguments[1]).length;";
+
     private final WebDriver driver;
     private final Waits waits;
     private final JavascriptExecutor js;
+    private final AtomicLong mutationEpoch;
+    private final AtomicLong navigationEpoch;
+    private final ElementCache cache;
 
     public ActionsEx(WebDriver driver) {
+        this(driver, new Waits(driver));
+    }
+
+    /**
+     * Constructor sharing an existing Waits, see {@link InteractionContext}.
+     *
+     * @param driver WebDriver instance
+     * @param waits  Waits to use for all interactions
+     */
+    public ActionsEx(WebDriver driver, Waits waits) {
         this.driver = driver;
-        this.waits = new Waits(driver);
+        this.waits = waits;
         this.js = (JavascriptExecutor) driver;
+        this.mutationEpoch = new AtomicLong();
+        this.navigationEpoch = new AtomicLong();
+        this.cache = null;
+    }
+
+    private ActionsEx(ActionsEx base, ElementCache cache) {
+        this.driver = base.driver;
+        this.waits = base.waits;
+        this.js = base.js;
+        this.mutationEpoch = base.mutationEpoch;
+        this.navigationEpoch = base.navigationEpoch;
+        this.cache = cache;
+    }
+
+    /**
+     * Gets a view of these actions that reuses resolved elements from a cache.
+     * The view shares the Waits and the mutation and navigation epochs of this instance,
+     * so a navigation through any view drops the cached elements of all of them.
+     *
+     * @param cache Element cache, usually one per page object
+     * @return Caching ActionsEx
+     */
+    public ActionsEx withCache(ElementCache cache) {
+        return new ActionsEx(this, cache);
+    }
+
+    /**
+     * Drops this view's cached elements, e.g. after the page re-rendered parts of itself.
+     * Navigations drop them without this, see {@link #markNavigated()}. No-op without a cache.
+     */
+    public void invalidateElements() {
+        if (cache != null) {
+            cache.clear();
+        }
     }
 
     @Step("Click on element: {locator}")
     public void click(By locator) {
-        WebElement element = waits.waitForClickable(locator);
-        element.click();
+        act(locator, Readiness.CLICKABLE, WebElement::click);
         logger.info("Clicked on element: {}", locator);
     }
 
     @Step("JavaScript click on element: {locator}")
     public void jsClick(By locator) {
-        WebElement element = waits.waitForPresence(locator);
-        js.executeScript("arguments[0].click();", element);
+        act(locator, Readiness.PRESENT, element -> js.executeScript("arguments[0].click();", element));
         logger.info("JS clicked on element: {}", locator);
     }
 
     @Step("Double-click on element: {locator}")
     public void doubleClick(By locator) {
-        WebElement element = waits.waitForClickable(locator);
-        new Actions(driver).doubleClick(element).perform();
+        act(locator, Readiness.CLICKABLE, element -> new Actions(driver).doubleClick(element).perform());
         logger.info("Double-clicked on element: {}", locator);
     }
 
     @Step("Right-click on element: {locator}")
     public void rightClick(By locator) {
-        WebElement element = waits.waitForClickable(locator);
-        new Actions(driver).contextClick(element).perform();
+        act(locator, Readiness.CLICKABLE, element -> new Actions(driver).contextClick(element).perform());
         logger.info("Right-clicked on element: {}", locator);
     }
 
     @Step("Type '{text}' into element: {locator}")
     public void type(By locator, String text) {
-        WebElement element = waits.waitForVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        act(locator, Readiness.VISIBLE, element -> {
+            element.clear();
+            element.sendKeys(text);
+        });
         logger.info("Typed '{}' into element: {}", text, locator);
     }
 
     @Step("Clear element: {locator}")
     public void clear(By locator) {
-        WebElement element = waits.waitForVisible(locator);
-        element.clear();
+        act(locator, Readiness.VISIBLE, WebElement::clear);
         logger.info("Cleared element: {}", locator);
     }
 
     @Step("Select by text '{text}' from: {locator}")
     public void selectByText(By locator, String text) {
-        WebElement element = waits.waitForVisible(locator);
-        new Select(element).selectByVisibleText(text);
+        act(locator, Readiness.VISIBLE, element -> new Select(element).selectByVisibleText(text));
         logger.info("Selected '{}' by text from: {}", text, locator);
     }
 
     @Step("Select by value '{value}' from: {locator}")
     public void selectByValue(By locator, String value) {
-        WebElement element = waits.waitForVisible(locator);
-        new Select(element).selectByValue(value);
+        act(locator, Readiness.VISIBLE, element -> new Select(element).selectByValue(value));
         logger.info("Selected '{}' by value from: {}", value, locator);
     }
 
     @Step("Hover over element: {locator}")
     public void hover(By locator) {
-        WebElement element = waits.waitForVisible(locator);
-        new Actions(driver).moveToElement(element).perform();
+        act(locator, Readiness.VISIBLE, element -> new Actions(driver).moveToElement(element).perform());
         logger.info("Hovered over element: {}", locator);
     }
 
     @Step("Scroll to element: {locator}")
     public void scrollToElement(By locator) {
-        WebElement element = waits.waitForPresence(locator);
-        js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
+        act(locator, Readiness.PRESENT,
+                element -> js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element));
         logger.info("Scrolled to element: {}", locator);
     }
 
     public String getText(By locator) {
-        WebElement element = waits.waitForVisible(locator);
-        return element.getText();
+        return read(locator, Readiness.VISIBLE, WebElement::getText);
     }
 
     public String getAttribute(By locator, String attribute) {
-        WebElement element = waits.waitForPresence(locator);
-        return element.getAttribute(attribute);
+        return read(locator, Readiness.PRESENT, element -> element.getAttribute(attribute));
     }
 
-    public boolean isDisplayed(By locator) {
-        try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (NoSuchElementException e) {
-            return false;
+    /**
+     * Gets the rendered text of every element matching the locator in one command,
+     * empty for hidden elements as with {@link WebElement#getText()}.
+     *
+     * @param locator Elements locator
+     * @return Texts in document order, empty if nothing matches
+     */
+    public List<String> texts(By locator) {
+        List<String> texts = new ArrayList<>();
+        for (List<String> row : readAll(locator, List.of("text"))) {
+            texts.add(row.get(0));
         }
+        return texts;
     }
 
-    public boolean isEnabled(By locator) {
-        try {
-            return driver.findElement(locator).isEnabled();
-        } catch (NoSuchElementException e) {
-            return false;
+    /**
+     * Gets an attribute (or property) of every element matching the locator in one command.
+     *
+     * @param locator   Elements locator
+     * @param attribute Attribute name
+     * @return Values in document order, null where the element has no such attribute
+     */
+    public List<String> attributes(By locator, String attribute) {
+        List<String> values = new ArrayList<>();
+        for (List<String> row : readAll(locator, List.of(attribute))) {
+            values.add(row.get(0));
         }
+        return values;
+    }
+
+    /**
+     * Reads several fields of every element matching the locator in one command.
+     * Field "text" is the element text; other fields are attribute (or property) names.
+     *
+     * @param locator Elements locator
+     * @param fields  Fields to read
+     * @return One map per element, keyed by field in the requested order
+     */
+    public List<Map<String, String>> project(By locator, String... fields) {
+        List<String> names = List.of(fields);
+        List<Map<String, String>> projection = new ArrayList<>();
+        for (List<String> row : readAll(locator, names)) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                values.put(names.get(i), row.get(i));
+            }
+            projection.add(values);
+        }
+        return projection;
+    }
+
+    /**
+     * Counts the elements matching the locator in one command, without transferring element references.
+     *
+     * @param locator Elements locator
+     * @return Number of matching elements
+     */
+    public int count(By locator) {
+        if (!ScriptLocator.supports(locator)) {
+            return waits.findAll(locator).size();
+        }
+        Object count = js.executeScript(SCRIPT_COUNT, ScriptLocator.using(locator), ScriptLocator.value(locator));
+        return ((Number) count).intValue();
+    }
+
+    /**
+     * Fills form fields in one command, see {@link #fillForm(Map, Set, By)}.
+     *
+     * @param values Field locator to value, in fill order
+     */
+    public void fillForm(Map<By, String> values) {
+        fillForm(values, Collections.emptySet(), null);
+    }
+
+    /**
+     * Fills form fields and clicks the submit element in one command, see {@link #fillForm(Map, Set, By)}.
+     *
+     * @param values Field locator to value, in fill order
+     * @param submit Submit element locator
+     */
+    public void fillForm(Map<By, String> values, By submit) {
+        fillForm(values, Collections.emptySet(), submit);
+    }
+
+    /**
+     * Fills form fields by setting their values in a single script that fires input and change events,
+     * then optionally clicks the submit element in the same script.
+     * Fields listed as native (e.g. with key handlers or masks) are typed with real keystrokes;
+     * the scripted fields around them are filled in separate scripts so the fill order is kept.
+     * Fields with a null value are left as they are.
+     * If a field is not yet on the page or is disabled, waits for it and runs the script again.
+     * The scripted submit is a DOM click, so it skips the visibility and overlap checks of a
+     * native click; flows that must prove the form is usable should type and click instead.
+     *
+     * @param values       Field locator to value, in fill order
+     * @param nativeFields Fields that need real keystrokes
+     * @param submit       Submit element locator, or null to leave the form unsubmitted
+     */
+    @Step("Fill form")
+    public void fillForm(Map<By, String> values, Set<By> nativeFields, By submit) {
+        long start = CommandCounter.current();
+        Map<By, String> batch = new LinkedHashMap<>();
+        int filled = 0;
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            By locator = entry.getKey();
+            if (entry.getValue() == null) {
+                continue;
+            }
+            filled++;
+            if (nativeFields.contains(locator) || !ScriptLocator.supports(locator)) {
+                runFillScript(batch, null);
+                batch.clear();
+                type(locator, entry.getValue());
+            } else {
+                batch.put(locator, entry.getValue());
+            }
+        }
+
+        boolean scriptSubmit = submit != null && ScriptLocator.supports(submit);
+        runFillScript(batch, scriptSubmit ? submit : null);
+        if (submit != null && !scriptSubmit) {
+            click(submit);
+        }
+        String submitted = submit != null ? " and submitted" : "";
+        if (CommandCounter.isEnabled()) {
+            logger.info("Filled {} field(s){} with {} WebDriver command(s)", filled, submitted,
+                    CommandCounter.current() - start);
+        } else {
+            logger.info("Filled {} field(s){} (command counting is off)", filled, submitted);
+        }
+    }
+
+    /**
+     * Captures the state of the named elements in one command.
+     * The snapshot is invalidated by the next mutating action on this instance (click, type, script...).
+     *
+     * @param locators Element name to locator
+     * @return Immutable snapshot of the elements
+     */
+    @SuppressWarnings("unchecked")
+    public PageSnapshot snapshot(Map<String, By> locators) {
+        long epoch = mutationEpoch.get();
+        Map<String, PageSnapshot.Entry> entries = new LinkedHashMap<>();
+        List<String> scriptedNames = new ArrayList<>();
+        List<List<String>> scripted = new ArrayList<>();
+        for (Map.Entry<String, By> locator : locators.entrySet()) {
+            if (ScriptLocator.supports(locator.getValue())) {
+                scriptedNames.add(locator.getKey());
+                scripted.add(List.of(ScriptLocator.using(locator.getValue()), ScriptLocator.value(locator.getValue())));
+            } else {
+                entries.put(locator.getKey(), captureElement(locator.getValue()));
+            }
+        }
+        if (!scripted.isEmpty()) {
+            List<Map<String, Object>> captured = (List<Map<String, Object>>) js.executeScript(SCRIPT_SNAPSHOT, scripted);
+            for (int i = 0; i < scriptedNames.size(); i++) {
+                Map<String, Object> entry = captured.get(i);
+                entries.put(scriptedNames.get(i), new PageSnapshot.Entry(((Number) entry.get("count")).intValue(),
+                        Boolean.TRUE.equals(entry.get("visible")), (String) entry.get("text"),
+                        (Map<String, String>) entry.get("attributes")));
+            }
+        }
+        return new PageSnapshot(entries, this, epoch);
+    }
+
+    /**
+     * Records that the page may have changed outside this class, e.g. after a raw click,
+     * so snapshots taken before are no longer trusted. Cached elements are kept: they are
+     * checked on use and resolved again if they went stale.
+     */
+    public void markPageChanged() {
+        mutationEpoch.incrementAndGet();
+    }
+
+    /**
+     * Records that the browser loaded a new document or switched to another one, so both
+     * snapshots and cached elements from before are dropped.
+     */
+    public void markNavigated() {
+        navigationEpoch.incrementAndGet();
+        mutationEpoch.incrementAndGet();
+    }
+
+    /**
+     * Gets the mutation epoch, incremented by every mutating action.
+     *
+     * @return Current epoch
+     */
+    public long getMutationEpoch() {
+        return mutationEpoch.get();
+    }
+
+    public boolean isDisplayed(By locator) {
+        return waits.probeDisplayed(locator);
+    }
+
+    public boolean isEnabled(By locator) {
+        return waits.probeEnabled(locator);
+    }
+
+    public boolean isVisible(By locator) {
+        return waits.isVisibleWithin(locator);
     }
 
     public void switchToFrame(By locator) {
+        markNavigated();
         waits.waitForFrameAndSwitch(locator);
     }
 
     public void switchToDefaultContent() {
+        markNavigated();
         driver.switchTo().defaultContent();
     }
 
     public void acceptAlert() {
+        markPageChanged();
         waits.waitForAlert().accept();
     }
 
     public void dismissAlert() {
+        markPageChanged();
         waits.waitForAlert().dismiss();
     }
 
     public Object executeScript(String script, Object... args) {
+        markPageChanged();
         return js.executeScript(script, args);
     }
 
+    /**
+     * Runs the bulk read script, or reads element by element for locators the script cannot resolve.
+     */
+    @SuppressWarnings("unchecked")
+    private List<List<String>> readAll(By locator, List<String> fields) {
+        if (ScriptLocator.supports(locator)) {
+            Object rows = js.executeScript(SCRIPT_READ_ALL,
+                    ScriptLocator.using(locator), ScriptLocator.value(locator), fields);
+            return (List<List<String>>) rows;
+        }
+        List<List<String>> rows = new ArrayList<>();
+        for (WebElement element : waits.findAll(locator)) {
+            List<String> row = new ArrayList<>();
+            for (String field : fields) {
+                row.add("text".equals(field) ? element.getText() : element.getAttribute(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Runs the fill script for consecutive scripted fields and an optional submit element.
+     */
+    private void runFillScript(Map<By, String> values, By submit) {
+        if (values.isEmpty() && submit == null) {
+            return;
+        }
+        List<By> locators = new ArrayList<>(values.keySet());
+        List<List<String>> fields = new ArrayList<>();
+        for (By locator : locators) {
+            fields.add(List.of(ScriptLocator.using(locator), ScriptLocator.value(locator), values.get(locator)));
+        }
+        List<String> submitArg = submit != null
+                ? List.of(ScriptLocator.using(submit), ScriptLocator.value(submit)) : null;
+        try {
+            // Each retry first waits for the field that was missing, so a few attempts are enough
+            int missing = -1;
+            for (int attempt = 0; attempt <= locators.size() + 1; attempt++) {
+                missing = ((Number) js.executeScript(SCRIPT_FILL_FORM, fields, submitArg)).intValue();
+                if (missing < 0) {
+                    break;
+                }
+                waits.waitForClickable(missing < locators.size() ? locators.get(missing) : submit);
+            }
+            if (missing >= 0) {
+                throw new RuntimeException("Form field not ready: "
+                        + (missing < locators.size() ? locators.get(missing) : submit));
+            }
+        } finally {
+            markPageChanged();
+        }
+    }
+
+    /**
+     * Runs a mutating operation on the element for a locator, then records the page change
+     * for snapshots. The element cache is left alone, so typing and then reading back the
+     * same field resolves it once.
+     */
+    private void act(By locator, Readiness readiness, Consumer<WebElement> action) {
+        try {
+            read(locator, readiness, element -> {
+                action.accept(element);
+                return null;
+            });
+        } finally {
+            markPageChanged();
+        }
+    }
+
+    /**
+     * Runs an operation on the element for a locator. Without a cache the element is resolved
+     * through the readiness wait every time. With a cache an element resolved since the last
+     * navigation is reused after the same readiness check; if it went stale or cannot be
+     * interacted with, it is resolved again and the operation retried once.
+     */
+    private <T> T read(By locator, Readiness readiness, Function<WebElement, T> operation) {
+        if (cache == null) {
+            return operation.apply(resolve(locator, readiness));
+        }
+        WebElement cached = cache.get(locator, navigationEpoch.get());
+        if (cached != null) {
+            try {
+                return operation.apply(recheck(locator, cached, readiness));
+            } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                cache.invalidate(locator, e instanceof StaleElementReferenceException);
+            }
+        }
+        WebElement element = resolve(locator, readiness);
+        cache.put(locator, element, navigationEpoch.get());
+        return operation.apply(element);
+    }
+
+    private WebElement resolve(By locator, Readiness readiness) {
+        switch (readiness) {
+            case CLICKABLE:
+                return waits.waitForClickable(locator);
+            case VISIBLE:
+                return waits.waitForVisible(locator);
+            default:
+                return waits.waitForPresence(locator);
+        }
+    }
+
+    private WebElement recheck(By locator, WebElement element, Readiness readiness) {
+        switch (readiness) {
+            case CLICKABLE:
+                return waits.waitForClickable(locator, element);
+            case VISIBLE:
+                return waits.waitForVisible(locator, element);
+            default:
+                return element;
+        }
+    }
+
+    /**
+     * Captures a single element with regular driver commands, for locators the snapshot script cannot resolve.
+     */
+    private PageSnapshot.Entry captureElement(By locator) {
+        List<WebElement> elements = waits.findAll(locator);
+        if (elements.isEmpty()) {
+            return new PageSnapshot.Entry(0, false, null, Map.of());
+        }
+        WebElement first = elements.get(0);
+        return new PageSnapshot.Entry(elements.size(), first.isDisplayed(), first.getText(), Map.of());
+    }
+
     public Waits getWaits() {
         return waits;
     }
+
+    /**
+     * State an element must reach before an operation runs on it.
+     */
+    private enum Readiness {
+        PRESENT, VISIBLE, CLICKABLE
+    }
 }
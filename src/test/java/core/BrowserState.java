@@ -0,0 +1,128 @@
+package core;
+
+import org.openqa.selenium.Cookie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable capture of a browser's state after a flow: current URL, cookies, localStorage
+ * and sessionStorage, tagged with the application version it was captured on.
+ * Stored and restored by {@link BrowserStateStore}.
+ */
+public final class BrowserState {
+
+    private final String name;
+    private final String appVersion;
+    private final String url;
+    private final List<StoredCookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final long capturedAt;
+
+    BrowserState(String name, String appVersion, String url, List<StoredCookie> cookies,
+                 Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.name = name;
+        this.appVersion = appVersion;
+        this.url = url;
+        this.cookies = new ArrayList<>(cookies);
+        this.localStorage = new LinkedHashMap<>(localStorage);
+        this.sessionStorage = new LinkedHashMap<>(sessionStorage);
+        this.capturedAt = System.currentTimeMillis();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAppVersion() {
+        return appVersion;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public List<StoredCookie> getCookies() {
+        return Collections.unmodifiableList(cookies);
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return Collections.unmodifiableMap(localStorage);
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return Collections.unmodifiableMap(sessionStorage);
+    }
+
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Cookie in a form that survives JSON persistence and maps onto both
+     * WebDriver cookies and DevTools Network.setCookies parameters.
+     */
+    public static final class StoredCookie {
+
+        private final String name;
+        private final String value;
+        private final String domain;
+        private final String path;
+        private final Long expiry;
+        private final boolean secure;
+        private final boolean httpOnly;
+        private final String sameSite;
+
+        StoredCookie(Cookie cookie) {
+            this.name = cookie.getName();
+            this.value = cookie.getValue();
+            this.domain = cookie.getDomain();
+            this.path = cookie.getPath();
+            this.expiry = cookie.getExpiry() == null ? null : cookie.getExpiry().getTime() / 1000;
+            this.secure = cookie.isSecure();
+            this.httpOnly = cookie.isHttpOnly();
+            this.sameSite = cookie.getSameSite();
+        }
+
+        Cookie toCookie() {
+            return new Cookie.Builder(name, value)
+                    .domain(domain)
+                    .path(path)
+                    .expiresOn(expiry == null ? null : new Date(expiry * 1000))
+                    .isSecure(secure)
+                    .isHttpOnly(httpOnly)
+                    .sameSite(sameSite)
+                    .build();
+        }
+
+        Map<String, Object> toCdp(String url) {
+            Map<String, Object> cookie = new LinkedHashMap<>();
+            cookie.put("name", name);
+            cookie.put("value", value);
+            if (domain != null) {
+                cookie.put("domain", domain);
+            } else {
+                cookie.put("url", url);
+            }
+            cookie.put("path", path == null ? "/" : path);
+            cookie.put("secure", secure);
+            cookie.put("httpOnly", httpOnly);
+            if (expiry != null) {
+                cookie.put("expires", expiry);
+            }
+            if (sameSite != null) {
+                cookie.put("sameSite", sameSite);
+            }
+            return cookie;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package core;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import config.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Named browser state snapshots, so tests can skip the UI steps that build a precondition.
+ * A snapshot is captured after a flow and restored into any pooled or new driver with a
+ * single navigation. Snapshots are kept in memory and, with state.snapshot.persist, as JSON
+ * files in state.snapshot.dir for later runs.
+ *
+ * <p>Every snapshot carries the application version it was captured on: app.version when set
+ * (e.g. -Dapp.version=$BUILD), otherwise the content of the page's version meta tag
+ * (state.version.meta). A snapshot from another version is deleted instead of restored.
+ * Snapshots loaded from disk without app.version are checked against the page's meta tag
+ * before anything is applied to the browser. A snapshot whose version is unknown (no
+ * app.version and no meta tag) is only reused within the run that captured it; it is
+ * never written to or read from disk.
+ */
+public final class BrowserStateStore {
+
+    private static final Logger logger = LogManager.getLogger(BrowserStateStore.class);
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    private static final String CAPTURE_SCRIPT =
+            "function dump(storage) { var items = {};"
+            + " try { for (var i = 0; i < storage.length; i++) { var key = storage.key(i); items[key] = storage.getItem(key); } }"
+            + " catch (e) {} return items; }"
+            + "var meta = document.querySelector('meta[name=\"' + arguments[0] + '\"]');"
+            + "return { url: location.href, local: dump(window.localStorage), session: dump(window.sessionStorage),"
+            + " version: meta ? meta.getAttribute('content') : null };";
+
+    private static final String VERSION_SCRIPT =
+            "var meta = document.querySelector('meta[name=\"' + arguments[0] + '\"]');"
+            + "return meta ? meta.getAttribute('content') : null;";
+
+    private static final Map<String, BrowserState> states = new ConcurrentHashMap<>();
+    // Snapshots loaded from disk whose version has not yet been checked against the page
+    private static final Set<String> unverified = ConcurrentHashMap.newKeySet();
+
+    private BrowserStateStore() {}
+
+    /**
+     * Captures the driver's current state under a name, replacing any earlier snapshot.
+     *
+     * @param driver WebDriver instance
+     * @param name   Snapshot name, e.g. "search:Room|Available|100|500"
+     * @return Captured snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static BrowserState capture(WebDriver driver, String name) {
+        Map<String, Object> page = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(CAPTURE_SCRIPT, versionMeta());
+        List<BrowserState.StoredCookie> cookies = driver.manage().getCookies().stream()
+                .map(BrowserState.StoredCookie::new)
+                .collect(Collectors.toList());
+
+        String configured = configuredVersion();
+        String version = !configured.isEmpty() ? configured
+                : page.get("version") != null ? String.valueOf(page.get("version")) : UNKNOWN_VERSION;
+        BrowserState state = new BrowserState(name, version, String.valueOf(page.get("url")), cookies,
+                strings(page.get("local")), strings(page.get("session")));
+        states.put(name, state);
+        unverified.remove(name);
+        if (Config.getBooleanProperty("state.snapshot.persist", false)) {
+            if (UNKNOWN_VERSION.equals(version)) {
+                logger.warn("Not persisting browser state '{}': set app.version or add a {} meta tag",
+                        name, versionMeta());
+            } else {
+                persist(state);
+            }
+        }
+        logger.info("Captured browser state '{}' ({} cookies, {} localStorage, {} sessionStorage, version {})",
+                name, cookies.size(), state.getLocalStorage().size(), state.getSessionStorage().size(), version);
+        return state;
+    }
+
+    /**
+     * Restores a named snapshot into a driver and opens the URL it was captured on.
+     *
+     * @param driver WebDriver instance, pooled or new
+     * @param name   Snapshot name
+     * @return true if the state was restored; false if there was none or it was stale,
+     *         in which case the driver is back on the page it was on
+     */
+    public static boolean restore(WebDriver driver, String name) {
+        Optional<BrowserState> found = get(name);
+        if (found.isEmpty()) {
+            return false;
+        }
+        BrowserState state = found.get();
+
+        // Without a configured version the page itself tells whether the app changed since the
+        // snapshot was saved; it is checked before the state touches the browser
+        if (unverified.contains(name)) {
+            String previousUrl = driver.getCurrentUrl();
+            driver.get(state.getUrl());
+            Object pageVersion = ((JavascriptExecutor) driver).executeScript(VERSION_SCRIPT, versionMeta());
+            String version = pageVersion == null ? UNKNOWN_VERSION : String.valueOf(pageVersion);
+            if (!version.equals(state.getAppVersion())) {
+                logger.info("Browser state '{}' was captured on version {}, app is now {}; discarding it",
+                        name, state.getAppVersion(), version);
+                invalidate(name);
+                driver.get(previousUrl);
+                return false;
+            }
+            unverified.remove(name);
+        }
+
+        if (CdpSupport.supports(driver)) {
+            restoreWithCdp(driver, state);
+        } else {
+            restoreWithReload(driver, state);
+        }
+        InteractionContext.forDriver(driver).getActions().markNavigated();
+        logger.info("Restored browser state '{}' at {}", name, state.getUrl());
+        return true;
+    }
+
+    /**
+     * Restores a snapshot, or runs the flow that builds the state and captures it for next time.
+     *
+     * @param driver WebDriver instance
+     * @param name   Snapshot name
+     * @param flow   Flow building the state from scratch
+     * @param <T>    Flow result
+     * @return Flow result, or null when the state was restored
+     */
+    public static <T> T restoreOrCapture(WebDriver driver, String name, Function<WebDriver, T> flow) {
+        if (restore(driver, name)) {
+            return null;
+        }
+        T result = flow.apply(driver);
+        capture(driver, name);
+        return result;
+    }
+
+    /**
+     * Gets a snapshot from memory, or from disk when persistence is on.
+     * Snapshots of another app.version are deleted and not returned.
+     *
+     * @param name Snapshot name
+     * @return Snapshot, or empty when there is no current one
+     */
+    public static Optional<BrowserState> get(String name) {
+        BrowserState state = states.get(name);
+        if (state == null && Config.getBooleanProperty("state.snapshot.persist", false)) {
+            state = load(name);
+            if (state != null && UNKNOWN_VERSION.equals(state.getAppVersion())) {
+                logger.info("Browser state file for '{}' has no app version; discarding it", name);
+                invalidate(name);
+                return Optional.empty();
+            }
+            if (state != null) {
+                if (configuredVersion().isEmpty()) {
+                    unverified.add(name);
+                }
+                states.putIfAbsent(name, state);
+            }
+        }
+        if (state == null) {
+            return Optional.empty();
+        }
+        String configured = configuredVersion();
+        if (!configured.isEmpty() && !configured.equals(state.getAppVersion())) {
+            logger.info("Browser state '{}' was captured on version {}, not {}; discarding it",
+                    name, state.getAppVersion(), configured);
+            invalidate(name);
+            return Optional.empty();
+        }
+        return Optional.of(state);
+    }
+
+    /**
+     * Drops a snapshot from memory and disk.
+     *
+     * @param name Snapshot name
+     */
+    public static void invalidate(String name) {
+        states.remove(name);
+        unverified.remove(name);
+        try {
+            Files.deleteIfExists(file(name));
+        } catch (IOException e) {
+            logger.warn("Failed to delete browser state file for '{}': {}", name, e.getMessage());
+        }
+    }
+
+    private static void restoreWithCdp(WebDriver driver, BrowserState state) {
+        if (!state.getCookies().isEmpty()) {
+            List<Map<String, Object>> cookies = state.getCookies().stream()
+                    .map(cookie -> cookie.toCdp(state.getUrl()))
+                    .collect(Collectors.toList());
+            CdpSupport.execute(driver, "Network.setCookies", Map.of("cookies", cookies));
+        }
+        if (state.getLocalStorage().isEmpty() && state.getSessionStorage().isEmpty()) {
+            driver.get(state.getUrl());
+            return;
+        }
+        Object identifier = CdpSupport.execute(driver, "Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", "if (location.origin === " + gson.toJson(origin(state.getUrl())) + ") {"
+                        + storageScript(state) + "}")).get("identifier");
+        try {
+            driver.get(state.getUrl());
+        } finally {
+            // The script would otherwise run again on every later page load of the pooled session
+            CdpSupport.execute(driver, "Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier));
+        }
+    }
+
+    private static void restoreWithReload(WebDriver driver, BrowserState state) {
+        driver.get(state.getUrl());
+        for (BrowserState.StoredCookie cookie : state.getCookies()) {
+            try {
+                driver.manage().addCookie(cookie.toCookie());
+            } catch (WebDriverException e) {
+                logger.debug("Skipped cookie {} from another domain: {}", cookie.getName(), e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(storageScript(state));
+        driver.get(state.getUrl());
+    }
+
+    private static String storageScript(BrowserState state) {
+        return "var local = " + gson.toJson(state.getLocalStorage()) + ";"
+                + " var session = " + gson.toJson(state.getSessionStorage()) + ";"
+                + " try { for (var key in local) { window.localStorage.setItem(key, local[key]); } } catch (e) {}"
+                + " try { for (var key in session) { window.sessionStorage.setItem(key, session[key]); } } catch (e) {}";
+    }
+
+    private static void persist(BrowserState state) {
+        Path file = file(state.getName());
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, gson.toJson(state).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to persist browser state '{}': {}", state.getName(), e.getMessage());
+        }
+    }
+
+    private static BrowserState load(String name) {
+        try {
+            return gson.fromJson(new String(Files.readAllBytes(file(name)), StandardCharsets.UTF_8), BrowserState.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Ignoring unreadable browser state file for '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Path file(String name) {
+        String safeName = name.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + Integer.toHexString(name.hashCode());
+        return Paths.get(Config.getProperty("state.snapshot.dir", "target/state-snapshots"), safeName + ".json");
+    }
+
+    private static String configuredVersion() {
+        return Config.getProperty("app.version", "");
+    }
+
+    private static String versionMeta() {
+        return Config.getProperty("state.version.meta", "app-version");
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> strings(Object value) {
+        if (!(value instanceof Map)) {
+            return Map.of();
+        }
+        return ((Map<String, Object>) value).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> String.valueOf(entry.getValue())));
+    }
+}
@@ -0,0 +1,16 @@
+package core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a page object into element caching: its actions reuse resolved elements
+ * until they go stale or the browser navigates, see {@link ElementCache}.
+ * Can be switched off globally with element.cache.enabled=false.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CacheElements {
+}
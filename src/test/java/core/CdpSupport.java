@@ -0,0 +1,41 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+
+/**
+ * Thin helper around the Chrome DevTools Protocol command endpoint.
+ * Uses raw command names so it is not tied to a specific Chrome version.
+ */
+public final class CdpSupport {
+
+    private CdpSupport() {}
+
+    /**
+     * Checks whether the driver can execute DevTools commands.
+     *
+     * @param driver WebDriver instance
+     * @return true for Chromium-based local or shared-service sessions
+     */
+    public static boolean supports(WebDriver driver) {
+        return driver instanceof HasCdp;
+    }
+
+    /**
+     * Executes a DevTools command on the driver's current target.
+     *
+     * @param driver  WebDriver instance
+     * @param command CDP method name, e.g. "Network.clearBrowserCookies"
+     * @param params  Command parameters
+     * @return Command result
+     */
+    public static Map<String, Object> execute(WebDriver driver, String command, Map<String, Object> params) {
+        if (!supports(driver)) {
+            throw new UnsupportedOperationException(
+                    "DevTools commands are not supported by " + driver.getClass().getSimpleName());
+        }
+        return ((HasCdp) driver).executeCdpCommand(command, params);
+    }
+}
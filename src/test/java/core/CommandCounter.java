@@ -0,0 +1,98 @@
+package core;
+
+import config.Config;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts WebDriver commands issued by each thread, so page objects and tests
+ * can measure how many round trips an operation costs.
+ * Drivers are counted once wrapped with {@link #decorate(WebDriver)}.
+ */
+public final class CommandCounter {
+
+    // Calls answered locally by the client, without a round trip to the driver
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "getDevTools", "maybeGetDevTools",
+            "getCapabilities", "getSessionId", "getCommandExecutor", "getErrorHandler",
+            "getFileDetector", "setFileDetector", "getId", "getCoordinates",
+            "toString", "hashCode", "equals");
+
+    private static final LongAdder total = new LongAdder();
+    private static final ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[2]);
+
+    private static final WebDriverListener listener = new WebDriverListener() {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (!LOCAL_METHODS.contains(method.getName())) {
+                long[] current = counts.get();
+                current[0]++;
+                current[1]++;
+                total.increment();
+            }
+        }
+    };
+
+    private CommandCounter() {}
+
+    /**
+     * Wraps a driver so every command it, its elements and its sub-interfaces send is counted.
+     *
+     * @param driver WebDriver instance
+     * @return Counting WebDriver exposing the same interfaces as the original
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(listener).decorate(driver);
+    }
+
+    /**
+     * Tells whether new sessions are counted (driver.command.counting).
+     * Without it every count stays 0, so callers should not report one.
+     *
+     * @return true if counting is enabled
+     */
+    public static boolean isEnabled() {
+        return Config.getBooleanProperty("driver.command.counting", false);
+    }
+
+    /**
+     * Gets the number of commands the current thread has issued so far.
+     * Take the difference of two readings to measure an operation.
+     *
+     * @return Command count for the current thread
+     */
+    public static long current() {
+        return counts.get()[0];
+    }
+
+    /**
+     * Resets the current thread's per-test counter.
+     */
+    public static void startTest() {
+        counts.get()[1] = 0;
+    }
+
+    /**
+     * Gets the number of commands issued in the current thread's test.
+     *
+     * @return Command count since {@link #startTest()}
+     */
+    public static long getTestCommands() {
+        return counts.get()[1];
+    }
+
+    /**
+     * Gets the number of commands issued by all threads during the run.
+     *
+     * @return Run-wide command count
+     */
+    public static long getTotal() {
+        return total.sum();
+    }
+}
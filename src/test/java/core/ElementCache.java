@@ -0,0 +1,132 @@
+package core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of resolved elements by locator, used by a caching {@link ActionsEx} view.
+ * Entries are tagged with the navigation epoch they were resolved in and are dropped as
+ * soon as the epoch moves on (navigateTo, refreshPage, frame switches, markNavigated),
+ * when the page object clears them, or when the element turns out to be stale.
+ * Clicks and typing keep the entries, so repeated work on the same element resolves it once.
+ * Hits, misses and stale entries are counted per owner (usually the page class) for the run.
+ * Not thread-safe: one cache belongs to one page object.
+ */
+public final class ElementCache {
+
+    private static final Map<String, Stats> statsByOwner = new ConcurrentHashMap<>();
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private final Stats stats;
+    private long epoch = -1;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param owner Name metrics are reported under, e.g. the page class
+     */
+    public ElementCache(String owner) {
+        this.stats = statsByOwner.computeIfAbsent(owner, o -> new Stats());
+    }
+
+    WebElement get(By locator, long currentEpoch) {
+        sync(currentEpoch);
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            stats.hits.increment();
+        } else {
+            stats.misses.increment();
+        }
+        return element;
+    }
+
+    void put(By locator, WebElement element, long currentEpoch) {
+        sync(currentEpoch);
+        elements.put(locator, element);
+    }
+
+    /**
+     * Gets the run-wide hits of this cache's owner.
+     *
+     * @return Lookups that found a cached element
+     */
+    public long getHits() {
+        return stats.hits.sum();
+    }
+
+    /**
+     * Gets the run-wide misses of this cache's owner.
+     *
+     * @return Lookups that had to resolve the element
+     */
+    public long getMisses() {
+        return stats.misses.sum();
+    }
+
+    /**
+     * Gets the run-wide stale entries of this cache's owner.
+     *
+     * @return Cached elements that had gone stale when used
+     */
+    public long getStale() {
+        return stats.stale.sum();
+    }
+
+    /**
+     * Drops an entry whose element could not be used. The lookup stays counted as a hit;
+     * stale elements are counted separately.
+     */
+    void invalidate(By locator, boolean stale) {
+        elements.remove(locator);
+        if (stale) {
+            stats.stale.increment();
+        }
+    }
+
+    /**
+     * Drops all entries, e.g. after a navigation.
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    private void sync(long currentEpoch) {
+        if (currentEpoch != epoch) {
+            elements.clear();
+            epoch = currentEpoch;
+        }
+    }
+
+    /**
+     * Gets a run-wide summary per owner.
+     *
+     * @return Summary text, e.g. "LoginPage: hits=4, misses=3, stale=1, hitRate=57%"
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder();
+        new TreeMap<>(statsByOwner).forEach((owner, stats) -> {
+            long hits = stats.hits.sum();
+            long misses = stats.misses.sum();
+            long lookups = hits + misses;
+            if (summary.length() > 0) {
+                summary.append("; ");
+            }
+            summary.append(String.format("%s: hits=%d, misses=%d, stale=%d, hitRate=%d%%", owner, hits, misses,
+                    stats.stale.sum(), lookups == 0 ? 0 : hits * 100 / lookups));
+        });
+        return summary.length() > 0 ? summary.toString() : "no cached pages";
+    }
+
+    private static final class Stats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder stale = new LongAdder();
+    }
+}
@@ -0,0 +1,69 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-driver holder of the interaction helpers shared by every page, component and flow
+ * working with that driver: one {@link Waits} and one {@link ActionsEx} built on it.
+ * Contexts live as long as the session; {@link #release(WebDriver)} drops one when its driver quits.
+ */
+public final class InteractionContext {
+
+    private static final Map<WebDriver, InteractionContext> contexts = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final Waits waits;
+    private final ActionsEx actions;
+
+    private InteractionContext(WebDriver driver) {
+        this.driver = driver;
+        this.waits = new Waits(driver);
+        this.actions = new ActionsEx(driver, waits);
+    }
+
+    /**
+     * Gets the context of a driver, creating it on first use.
+     *
+     * @param driver WebDriver instance
+     * @return Shared context for the driver
+     */
+    public static InteractionContext forDriver(WebDriver driver) {
+        return contexts.computeIfAbsent(driver, InteractionContext::new);
+    }
+
+    /**
+     * Builds a context of its own for a driver, not shared with anything else using it.
+     * Pages given one allocate their helpers as they did before contexts were shared;
+     * PageConstructionBenchmark uses it as its baseline.
+     *
+     * @param driver WebDriver instance
+     * @return New, unregistered context
+     */
+    public static InteractionContext unshared(WebDriver driver) {
+        return new InteractionContext(driver);
+    }
+
+    /**
+     * Drops the context of a driver that is being quit.
+     *
+     * @param driver WebDriver instance
+     */
+    public static void release(WebDriver driver) {
+        contexts.remove(driver);
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public Waits getWaits() {
+        return waits;
+    }
+
+    public ActionsEx getActions() {
+        return actions;
+    }
+}
@@ -0,0 +1,130 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * Compact log-linear latency histogram in the spirit of HdrHistogram.
+ * Values below 16 are exact; above that each power of two is split into
+ * 16 sub-buckets, giving percentiles within about 6% of the true value.
+ * Not thread-safe: each histogram has a single writer, and histograms
+ * are merged with {@link #add(LatencyHistogram)} for reporting.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[SUB_BUCKETS * 4];
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    /**
+     * Records a single value.
+     *
+     * @param value Non-negative value, e.g. milliseconds or microseconds
+     */
+    public void record(long value) {
+        recordCount(Math.max(0, value), 1);
+    }
+
+    /**
+     * Records a value and back-fills the samples that a stalled caller would have
+     * taken at the expected interval (coordinated-omission correction).
+     *
+     * @param value            Measured value
+     * @param expectedInterval Expected interval between samples, in the same unit
+     */
+    public void recordCorrected(long value, long expectedInterval) {
+        record(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+            record(missing);
+        }
+    }
+
+    /**
+     * Adds every sample of another histogram to this one.
+     *
+     * @param other Histogram to merge
+     */
+    public void add(LatencyHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Gets the value at a percentile.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Upper bound of the bucket holding the percentile, capped at the max seen
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    private void recordCount(long value, long count) {
+        int index = indexOf(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index] += count;
+        totalCount += count;
+        sum += value * count;
+        max = Math.max(max, value);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,67 @@
+package core;
+
+import config.Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares form logins with API login shortcuts to report the time the shortcut saves.
+ * The form login cost is the average measured in this run, or auth.ui.login.estimate.ms
+ * when no test used the form.
+ */
+public final class LoginStats {
+
+    private static final LongAdder uiLogins = new LongAdder();
+    private static final LongAdder uiLoginNanos = new LongAdder();
+    private static final LongAdder shortcuts = new LongAdder();
+    private static final LongAdder shortcutNanos = new LongAdder();
+
+    private LoginStats() {}
+
+    /**
+     * Records a login through the login form.
+     *
+     * @param elapsedNanos Time the form login took
+     */
+    public static void recordUiLogin(long elapsedNanos) {
+        uiLogins.increment();
+        uiLoginNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Records an API login shortcut, including session injection into the browser.
+     *
+     * @param elapsedNanos Time the shortcut took
+     * @return Estimated time saved compared with a form login, in milliseconds
+     */
+    public static long recordShortcut(long elapsedNanos) {
+        shortcuts.increment();
+        shortcutNanos.add(elapsedNanos);
+        return Math.max(0, getUiLoginMillis() - TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    /**
+     * Gets the cost of a form login: the run's average, or the configured estimate.
+     *
+     * @return Time in milliseconds
+     */
+    public static long getUiLoginMillis() {
+        long count = uiLogins.sum();
+        return count == 0 ? Config.getIntProperty("auth.ui.login.estimate.ms", 3000)
+                : TimeUnit.NANOSECONDS.toMillis(uiLoginNanos.sum() / count);
+    }
+
+    /**
+     * Gets a run-wide summary.
+     *
+     * @return Summary text
+     */
+    public static String summary() {
+        long count = shortcuts.sum();
+        long shortcutMillis = TimeUnit.NANOSECONDS.toMillis(shortcutNanos.sum());
+        return String.format("formLogins=%d, apiLogins=%d (avg %dms), formLoginCost=%dms, saved=%dms",
+                uiLogins.sum(), count, count == 0 ? 0 : shortcutMillis / count, getUiLoginMillis(),
+                Math.max(0, count * getUiLoginMillis() - shortcutMillis));
+    }
+}
@@ -0,0 +1,66 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the time spent in presence probes that came back negative
+ * (element absent or hidden), per test and for the whole run.
+ */
+public final class NegativeCheckStats {
+
+    private static final LongAdder probes = new LongAdder();
+    private static final LongAdder negatives = new LongAdder();
+    private static final LongAdder negativeNanos = new LongAdder();
+    private static final ThreadLocal<long[]> perTest = ThreadLocal.withInitial(() -> new long[2]);
+
+    private NegativeCheckStats() {}
+
+    static void record(boolean found, long elapsedNanos) {
+        probes.increment();
+        if (!found) {
+            negatives.increment();
+            negativeNanos.add(elapsedNanos);
+            long[] current = perTest.get();
+            current[0]++;
+            current[1] += elapsedNanos;
+        }
+    }
+
+    /**
+     * Resets the current thread's per-test counters.
+     */
+    public static void startTest() {
+        long[] current = perTest.get();
+        current[0] = 0;
+        current[1] = 0;
+    }
+
+    /**
+     * Gets the number of negative checks in the current thread's test.
+     *
+     * @return Negative check count
+     */
+    public static long getTestNegatives() {
+        return perTest.get()[0];
+    }
+
+    /**
+     * Gets the time spent in negative checks in the current thread's test.
+     *
+     * @return Time in milliseconds
+     */
+    public static long getTestNegativeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(perTest.get()[1]);
+    }
+
+    /**
+     * Gets a run-wide summary.
+     *
+     * @return Summary text
+     */
+    public static String summary() {
+        return String.format("probes=%d, negatives=%d, negativeTime=%dms",
+                probes.sum(), negatives.sum(), TimeUnit.NANOSECONDS.toMillis(negativeNanos.sum()));
+    }
+}
@@ -0,0 +1,237 @@
+package core;
+
+import config.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks in-flight network requests of a browser session so tests can wait
+ * for the network to go quiet, whatever the page uses (fetch, XHR, jQuery).
+ * Chromium sessions are tracked through DevTools network events with no polling
+ * commands. The events are addressed by raw CDP method name, but opening the DevTools
+ * session still needs the selenium-devtools module matching the browser's CDP version;
+ * without it tracking falls back like other sessions do.
+ * Other sessions fall back to an in-page fetch/XHR counter that is checked inside one
+ * async script. The counter is installed by the first wait on each document, so it only
+ * sees requests started after that; requests already in flight during page load are missed.
+ */
+public class NetworkIdleTracker {
+
+    private static final Logger logger = LogManager.getLogger(NetworkIdleTracker.class);
+    private static final Map<WebDriver, NetworkIdleTracker> trackers =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String SCRIPT_IDLE_WAIT =
+            "var ignore = arguments[0].map(function (p) { return new RegExp(p); }),"
+                    + "    idleWindow = arguments[1], timeout = arguments[2],"
+                    + "    done = arguments[arguments.length - 1];"
+                    + "var w = window;"
+                    + "if (!w.__networkIdle) {"
+                    + "  var state = w.__networkIdle = { pending: 0, last: performance.now() };"
+                    + "  var tracked = function (url) {"
+                    + "    return !ignore.some(function (p) { return p.test(String(url)); });"
+                    + "  };"
+                    + "  var start = function () { state.pending++; state.last = performance.now(); };"
+                    + "  var end = function () { state.pending = Math.max(0, state.pending - 1); state.last = performance.now(); };"
+                    + "  if (w.fetch) {"
+                    + "    var originalFetch = w.fetch;"
+                    + "    w.fetch = function (input) {"
+                    + "      var url = input && input.url ? input.url : input;"
+                    + "      if (!tracked(url)) { return originalFetch.apply(this, arguments); }"
+                    + "      start();"
+                    + "      return originalFetch.apply(this, arguments).then("
+                    + "        function (r) { end(); return r; }, function (e) { end(); throw e; });"
+                    + "    };"
+                    + "  }"
+                    + "  var open = XMLHttpRequest.prototype.open, send = XMLHttpRequest.prototype.send;"
+                    + "  XMLHttpRequest.prototype.open = function (method, url) {"
+                    + "    this.__tracked = tracked(url); return open.apply(this, arguments);"
+                    + "  };"
+                    + "  XMLHttpRequest.prototype.send = function () {"
+                    + "    if (this.__tracked) { start(); this.addEventListener('loadend', end); }"
+                    + "    return send.apply(this, arguments);"
+                    + "  };"
+                    + "}"
+                    + "var begin = performance.now();"
+                    + "(function check() {"
+                    + "  var state = w.__networkIdle, now = performance.now();"
+                    + "  var jquery = typeof w.jQuery !== 'undefined' ? w.jQuery.active : 0;"
+                    + "  if (state.pending === 0 && jquery === 0 && now - state.last >= idleWindow) { done(true); return; }"
+                    + "  if (now - begin >= timeout) { done(false); return; }"
+                    + "  setTimeout(check, 50);"
+                    + "})();";
+
+    private final List<Pattern> ignore;
+    private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+    private volatile long lastActivity = System.nanoTime();
+    private DevTools devTools;
+    private String attachedHandle;
+
+    private NetworkIdleTracker(List<Pattern> ignore) {
+        this.ignore = ignore;
+    }
+
+    /**
+     * Gets the tracker for a session, starting DevTools tracking when available.
+     * Call before navigating so requests fired during page load are seen.
+     *
+     * @param driver WebDriver instance
+     * @return NetworkIdleTracker for the session
+     */
+    public static NetworkIdleTracker forDriver(WebDriver driver) {
+        NetworkIdleTracker tracker;
+        synchronized (trackers) {
+            tracker = trackers.computeIfAbsent(driver, d -> new NetworkIdleTracker(ignorePatterns()));
+        }
+        tracker.attach(driver);
+        return tracker;
+    }
+
+    /**
+     * Waits until no tracked request has been in flight for the idle window.
+     *
+     * @param driver     WebDriver instance
+     * @param idleWindow Quiet period required before the network counts as idle
+     * @param timeout    Maximum time to wait
+     * @return Number of driver commands spent waiting
+     */
+    public synchronized int waitForIdle(WebDriver driver, Duration idleWindow, Duration timeout) {
+        attach(driver);
+        if (devTools == null) {
+            return waitInPage(driver, idleWindow, timeout);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long idleNanos = idleWindow.toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long quiet = now - lastActivity;
+            if (inFlight.isEmpty() && quiet >= idleNanos) {
+                return 1;
+            }
+            if (now >= deadline) {
+                throw new TimeoutException("Network did not go idle within " + timeout
+                        + ", in flight: " + new ArrayList<>(inFlight.values()));
+            }
+            long pause = inFlight.isEmpty() ? idleNanos - quiet : 50_000_000L;
+            sleep(Math.max(1, Math.min(pause, deadline - now) / 1_000_000L));
+        }
+    }
+
+    /**
+     * Gets the URLs of tracked requests still in flight.
+     *
+     * @return In-flight request URLs
+     */
+    public List<String> getInFlight() {
+        return new ArrayList<>(inFlight.values());
+    }
+
+    private synchronized void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        String handle = driver.getWindowHandle();
+        if (handle.equals(attachedHandle)) {
+            return;
+        }
+        try {
+            if (devTools == null) {
+                devTools = ((HasDevTools) driver).getDevTools();
+            } else {
+                devTools.clearListeners();
+                devTools.disconnectSession();
+            }
+            devTools.createSession(handle);
+            devTools.addListener(event("Network.requestWillBeSent"), this::onRequest);
+            devTools.addListener(event("Network.loadingFinished"), this::onDone);
+            devTools.addListener(event("Network.loadingFailed"), this::onDone);
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            inFlight.clear();
+            lastActivity = System.nanoTime();
+            attachedHandle = handle;
+            logger.debug("Network tracking attached to window {}", handle);
+        } catch (Exception e) {
+            logger.warn("DevTools network tracking unavailable, using in-page tracking: {}", e.getMessage());
+            devTools = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequest(Map<String, Object> params) {
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        String url = request != null ? String.valueOf(request.get("url")) : "";
+        if (!isIgnored(url)) {
+            inFlight.put(String.valueOf(params.get("requestId")), url);
+        }
+        lastActivity = System.nanoTime();
+    }
+
+    private void onDone(Map<String, Object> params) {
+        if (inFlight.remove(String.valueOf(params.get("requestId"))) != null) {
+            lastActivity = System.nanoTime();
+        }
+    }
+
+    private boolean isIgnored(String url) {
+        for (Pattern pattern : ignore) {
+            if (pattern.matcher(url).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int waitInPage(WebDriver driver, Duration idleWindow, Duration timeout) {
+        List<String> patterns = new ArrayList<>();
+        for (Pattern pattern : ignore) {
+            patterns.add(pattern.pattern());
+        }
+        Object idle = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT_IDLE_WAIT,
+                patterns, idleWindow.toMillis(), timeout.toMillis());
+        if (!Boolean.TRUE.equals(idle)) {
+            throw new TimeoutException("Network did not go idle within " + timeout);
+        }
+        return 1;
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static List<Pattern> ignorePatterns() {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String pattern : Config.getProperty("network.idle.ignore", "").split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                patterns.add(Pattern.compile(pattern.trim()));
+            }
+        }
+        return patterns;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for network idle", e);
+        }
+    }
+}
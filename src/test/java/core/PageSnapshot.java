@@ -0,0 +1,100 @@
+package core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a set of named elements captured in one driver command by
+ * {@link ActionsEx#snapshot(Map)}. Reads never touch the browser; once the ActionsEx
+ * that captured it performs a mutating action, reading throws {@link IllegalStateException}.
+ * Attributes are not captured for locators that cannot be resolved in script.
+ */
+public final class PageSnapshot {
+
+    private final Map<String, Entry> entries;
+    private final ActionsEx owner;
+    private final long epoch;
+
+    PageSnapshot(Map<String, Entry> entries, ActionsEx owner, long epoch) {
+        this.entries = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+        this.owner = owner;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Checks whether no mutating action has run since the capture.
+     *
+     * @return true while the snapshot reflects the last known page state
+     */
+    public boolean isCurrent() {
+        return owner.getMutationEpoch() == epoch;
+    }
+
+    public boolean isPresent(String name) {
+        return entry(name).count > 0;
+    }
+
+    public boolean isVisible(String name) {
+        return entry(name).visible;
+    }
+
+    public int getCount(String name) {
+        return entry(name).count;
+    }
+
+    /**
+     * Gets the text of the first matching element.
+     *
+     * @param name Element name
+     * @return Trimmed rendered text, empty if the element was hidden, null if it was absent
+     */
+    public String getText(String name) {
+        return entry(name).text;
+    }
+
+    /**
+     * Gets an attribute of the first matching element.
+     *
+     * @param name      Element name
+     * @param attribute Attribute name
+     * @return Attribute value, or null if absent
+     */
+    public String getAttribute(String name, String attribute) {
+        return entry(name).attributes.get(attribute);
+    }
+
+    private Entry entry(String name) {
+        if (!isCurrent()) {
+            throw new IllegalStateException("Page snapshot is stale: the page was changed after it was captured");
+        }
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Element not captured in snapshot: " + name);
+        }
+        return entry;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("PageSnapshot{");
+        entries.forEach((name, entry) -> text.append(name).append("=[count=").append(entry.count)
+                .append(", visible=").append(entry.visible).append("] "));
+        return text.append(isCurrent() ? "current" : "stale").append('}').toString();
+    }
+
+    static final class Entry {
+
+        private final int count;
+        private final boolean visible;
+        private final String text;
+        private final Map<String, String> attributes;
+
+        Entry(int count, boolean visible, String text, Map<String, String> attributes) {
+            this.count = count;
+            this.visible = visible;
+            this.text = text;
+            this.attributes = attributes != null ? Map.copyOf(attributes) : Map.of();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package core;
+
+import config.Config;
+
+import java.time.Duration;
+
+/**
+ * Decides how long a wait sleeps between condition evaluations.
+ * Short delays catch fast elements early, longer ones keep long waits
+ * from flooding a remote Grid with commands.
+ */
+@FunctionalInterface
+public interface PollingPolicy {
+
+    /**
+     * Gets the delay before the next evaluation.
+     *
+     * @param poll Number of evaluations performed so far (1-based)
+     * @return Delay before the next evaluation
+     */
+    Duration delay(int poll);
+
+    /**
+     * Polls at a fixed interval.
+     *
+     * @param interval Interval between evaluations
+     * @return PollingPolicy
+     */
+    static PollingPolicy fixed(Duration interval) {
+        return poll -> interval;
+    }
+
+    /**
+     * Starts with a short delay and multiplies it after each poll, up to a cap.
+     *
+     * @param initial    First delay
+     * @param multiplier Growth factor per poll
+     * @param max        Maximum delay
+     * @return PollingPolicy
+     */
+    static PollingPolicy exponential(Duration initial, double multiplier, Duration max) {
+        long initialMillis = initial.toMillis();
+        long maxMillis = max.toMillis();
+        return poll -> {
+            double delay = initialMillis * Math.pow(multiplier, poll - 1);
+            return Duration.ofMillis((long) Math.min(delay, maxMillis));
+        };
+    }
+
+    /**
+     * Polls quickly for the first few evaluations, then falls back to a slow interval.
+     *
+     * @param fast      Delay during the fast phase
+     * @param fastPolls Number of polls in the fast phase
+     * @param slow      Delay after the fast phase
+     * @return PollingPolicy
+     */
+    static PollingPolicy fastThenSlow(Duration fast, int fastPolls, Duration slow) {
+        return poll -> poll <= fastPolls ? fast : slow;
+    }
+
+    /**
+     * Builds the policy selected by wait.polling.policy (fixed, exponential or fast-then-slow).
+     *
+     * @return PollingPolicy
+     */
+    static PollingPolicy fromConfig() {
+        String policy = Config.getProperty("wait.polling.policy", "exponential").toLowerCase();
+        Duration initial = Duration.ofMillis(Config.getIntProperty("wait.polling.initial.ms", 50));
+        Duration max = Duration.ofMillis(Config.getIntProperty("wait.polling.max.ms", 1000));
+
+        switch (policy) {
+            case "fixed":
+                return fixed(Duration.ofMillis(Config.getIntProperty("wait.polling.interval.ms", 500)));
+            case "fast-then-slow":
+                return fastThenSlow(initial, Config.getIntProperty("wait.polling.fast.count", 5), max);
+            case "exponential":
+            default:
+                double multiplier;
+                try {
+                    multiplier = Double.parseDouble(Config.getProperty("wait.polling.multiplier", "2"));
+                } catch (NumberFormatException e) {
+                    multiplier = 2;
+                }
+                return exponential(initial, multiplier, max);
+        }
+    }
+}
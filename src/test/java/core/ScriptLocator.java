@@ -0,0 +1,76 @@
+package core;
+
+import org.openqa.selenium.By;
+
+/**
+ * Translates Selenium locators into arguments for in-page scripts,
+ * so a script can resolve elements itself instead of receiving them one by one.
+ */
+public final class ScriptLocator {
+
+    /**
+     * JavaScript function {@code findAll(using, value)} returning an array of matching elements.
+     * Supports the W3C strategies: css selector, xpath, link text, partial link text and tag name.
+     */
+    public static final String FIND_ALL_FUNCTION =
+            "function findAll(using, value) {"
+                    + "  if (using === 'css selector') { return Array.prototype.slice.call(document.querySelectorAll(value)); }"
+                    + "  if (using === 'tag name') { return Array.prototype.slice.call(document.getElementsByTagName(value)); }"
+                    + "  if (using === 'xpath') {"
+                    + "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "    var nodes = [];"
+                    + "    for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }"
+                    + "    return nodes;"
+                    + "  }"
+                    + "  var partial = using === 'partial link text';"
+                    + "  return Array.prototype.slice.call(document.getElementsByTagName('a')).filter(function (a) {"
+                    + "    var text = (a.innerText || a.textContent || '').trim();"
+                    + "    return partial ? text.indexOf(value) !== -1 : text === value;"
+                    + "  });"
+                    + "}";
+
+    /**
+     * JavaScript function {@code isVisible(el)}: attached, not hidden by style, and with a non-empty box.
+     */
+    public static final String IS_VISIBLE_FUNCTION =
+            "function isVisible(el) {"
+                    + "  if (!el.isConnected) { return false; }"
+                    + "  var style = window.getComputedStyle(el);"
+                    + "  if (style.display === 'none' || style.visibility === 'hidden') { return false; }"
+                    + "  var rect = el.getBoundingClientRect();"
+                    + "  return rect.width > 0 && rect.height > 0;"
+                    + "}";
+
+    private ScriptLocator() {}
+
+    /**
+     * Checks whether a locator can be resolved by {@link #FIND_ALL_FUNCTION}.
+     *
+     * @param locator Element locator
+     * @return true for W3C-remotable locators with a string value
+     */
+    public static boolean supports(By locator) {
+        return locator instanceof By.Remotable
+                && ((By.Remotable) locator).getRemoteParameters().value() instanceof String;
+    }
+
+    /**
+     * Gets the strategy name for a supported locator, e.g. "css selector".
+     *
+     * @param locator Element locator
+     * @return W3C locator strategy
+     */
+    public static String using(By locator) {
+        return ((By.Remotable) locator).getRemoteParameters().using();
+    }
+
+    /**
+     * Gets the strategy value for a supported locator.
+     *
+     * @param locator Element locator
+     * @return Selector, expression or link text
+     */
+    public static String value(By locator) {
+        return (String) ((By.Remotable) locator).getRemoteParameters().value();
+    }
+}
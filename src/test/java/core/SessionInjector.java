@@ -0,0 +1,85 @@
+package core;
+
+import api.AuthSession;
+import com.google.gson.Gson;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Puts an API session into a browser so the first page load is already authenticated.
+ * On Chromium the cookies are set through DevTools and localStorage is filled by a script
+ * that runs before the page's own scripts, so no extra page load is needed. Other
+ * browsers load the page, receive the cookies and storage, and reload it.
+ */
+public final class SessionInjector {
+
+    private static final Logger logger = LogManager.getLogger(SessionInjector.class);
+    private static final Gson gson = new Gson();
+
+    private SessionInjector() {}
+
+    /**
+     * Opens a URL as the session's user.
+     *
+     * @param driver  WebDriver instance
+     * @param url     Page to open, on the application's origin
+     * @param session Session to inject
+     */
+    public static void open(WebDriver driver, String url, AuthSession session) {
+        if (CdpSupport.supports(driver)) {
+            openWithCdp(driver, url, session);
+        } else {
+            openWithReload(driver, url, session);
+        }
+        logger.info("Opened {} as {} with an API session", url, session.getUsername());
+    }
+
+    private static void openWithCdp(WebDriver driver, String url, AuthSession session) {
+        session.getCookies().forEach((name, value) -> {
+            Map<String, Object> cookie = new HashMap<>();
+            cookie.put("name", name);
+            cookie.put("value", value);
+            cookie.put("url", url);
+            CdpSupport.execute(driver, "Network.setCookie", cookie);
+        });
+
+        if (session.getLocalStorage().isEmpty()) {
+            driver.get(url);
+            return;
+        }
+        String script = "if (location.origin === " + gson.toJson(origin(url)) + ") {"
+                + " var items = " + gson.toJson(session.getLocalStorage()) + ";"
+                + " for (var key in items) { try { localStorage.setItem(key, items[key]); } catch (e) {} } }";
+        Object identifier = CdpSupport.execute(driver, "Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", script)).get("identifier");
+        try {
+            driver.get(url);
+        } finally {
+            // Pooled sessions outlive the test; the script must not log the next test in
+            CdpSupport.execute(driver, "Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier));
+        }
+    }
+
+    private static void openWithReload(WebDriver driver, String url, AuthSession session) {
+        driver.get(url);
+        session.getCookies().forEach((name, value) -> driver.manage().addCookie(new Cookie(name, value)));
+        if (!session.getLocalStorage().isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(
+                    "var items = arguments[0]; for (var key in items) { localStorage.setItem(key, items[key]); }",
+                    session.getLocalStorage());
+        }
+        driver.navigate().refresh();
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+}
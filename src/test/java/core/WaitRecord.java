@@ -0,0 +1,61 @@
+package core;
+
+/**
+ * Outcome of a single wait: the condition type and its target (usually a locator),
+ * how many times the condition was evaluated and how long it took.
+ */
+public final class WaitRecord {
+
+    private final String condition;
+    private final Object target;
+    private final int polls;
+    private final int roundTrips;
+    private final long elapsedMillis;
+    private final boolean satisfied;
+
+    public WaitRecord(String condition, Object target, int polls, int roundTrips,
+                      long elapsedMillis, boolean satisfied) {
+        this.condition = condition;
+        this.target = target;
+        this.polls = polls;
+        this.roundTrips = roundTrips;
+        this.elapsedMillis = elapsedMillis;
+        this.satisfied = satisfied;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public String getTarget() {
+        return target != null ? target.toString() : "";
+    }
+
+    public int getPolls() {
+        return polls;
+    }
+
+    /**
+     * Gets the number of driver commands the wait issued.
+     * For polling waits this is estimated from the commands each condition check sends.
+     *
+     * @return Driver round trips
+     */
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isSatisfied() {
+        return satisfied;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s after %d polls (%d round trips) in %d ms", condition, getTarget(),
+                satisfied ? "satisfied" : "timed out", polls, roundTrips, elapsedMillis);
+    }
+}
@@ -0,0 +1,223 @@
+package core;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import config.Config;
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects wait latencies per page class, locator and condition.
+ * Each thread writes to its own recorder without locking; recorders are
+ * merged only when the report is written at the end of the suite.
+ */
+public final class WaitTelemetry {
+
+    private static final Logger logger = LogManager.getLogger(WaitTelemetry.class);
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Queue<Map<Key, Stat>> recorders = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Map<Key, Stat>> recorder = ThreadLocal.withInitial(() -> {
+        Map<Key, Stat> stats = new HashMap<>();
+        recorders.add(stats);
+        return stats;
+    });
+
+    private WaitTelemetry() {}
+
+    /**
+     * Records a finished wait against the page class that issued it.
+     * telemetry.enabled is read on each call, so it can be switched after the configuration loads.
+     *
+     * @param record Wait outcome
+     */
+    static void record(WaitRecord record) {
+        if (!Config.getBooleanProperty("telemetry.enabled", true)) {
+            return;
+        }
+        Key key = new Key(callingPage(), record.getTarget(), record.getCondition());
+        Stat stat = recorder.get().computeIfAbsent(key, k -> new Stat());
+        stat.histogram.record(record.getElapsedMillis());
+        if (!record.isSatisfied()) {
+            stat.timeouts++;
+        }
+    }
+
+    /**
+     * Writes the JSON and CSV reports to telemetry.report.dir and attaches them to Allure.
+     */
+    public static void writeReport() {
+        Map<Key, Stat> merged = merge();
+        if (merged.isEmpty()) {
+            return;
+        }
+        String json = toJson(merged);
+        String csv = toCsv(merged);
+
+        Path dir = Paths.get(Config.getProperty("telemetry.report.dir", "target/wait-telemetry"));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("wait-telemetry.json"), json.getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve("wait-telemetry.csv"), csv.getBytes(StandardCharsets.UTF_8));
+            logger.info("Wait telemetry written to: {}", dir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write wait telemetry: {}", e.getMessage());
+        }
+        Allure.addAttachment("Wait telemetry", "application/json", json, ".json");
+        Allure.addAttachment("Wait telemetry (CSV)", "text/csv", csv, ".csv");
+    }
+
+    private static String callingPage() {
+        Optional<String> page = walker.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> type.getPackageName().startsWith("pages"))
+                .map(Class::getSimpleName)
+                .findFirst());
+        return page.orElse("other");
+    }
+
+    private static Map<Key, Stat> merge() {
+        Map<Key, Stat> merged = new HashMap<>();
+        for (Map<Key, Stat> stats : recorders) {
+            for (Map.Entry<Key, Stat> entry : new ArrayList<>(stats.entrySet())) {
+                Stat target = merged.computeIfAbsent(entry.getKey(), k -> new Stat());
+                target.histogram.add(entry.getValue().histogram);
+                target.timeouts += entry.getValue().timeouts;
+            }
+        }
+        return merged;
+    }
+
+    private static String toJson(Map<Key, Stat> merged) {
+        LatencyHistogram overall = new LatencyHistogram();
+        Map<String, long[]> pageTotals = new TreeMap<>();
+        for (Map.Entry<Key, Stat> entry : merged.entrySet()) {
+            overall.add(entry.getValue().histogram);
+            long[] totals = pageTotals.computeIfAbsent(entry.getKey().page, p -> new long[2]);
+            totals[0] += entry.getValue().histogram.getCount();
+            totals[1] += entry.getValue().timeouts;
+        }
+
+        JsonObject report = new JsonObject();
+        report.add("overall", percentiles(overall));
+
+        JsonArray pages = new JsonArray();
+        pageTotals.forEach((page, totals) -> {
+            JsonObject row = new JsonObject();
+            row.addProperty("page", page);
+            row.addProperty("waits", totals[0]);
+            row.addProperty("timeouts", totals[1]);
+            row.addProperty("timeoutRate", totals[0] == 0 ? 0 : (double) totals[1] / totals[0]);
+            pages.add(row);
+        });
+        report.add("timeoutRateByPage", pages);
+
+        int top = Config.getIntProperty("telemetry.top.locators", 10);
+        JsonArray slowest = new JsonArray();
+        merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Key, Stat> e) -> e.getValue().histogram.getSum()).reversed())
+                .limit(top)
+                .forEach(entry -> slowest.add(row(entry.getKey(), entry.getValue())));
+        report.add("slowestLocators", slowest);
+
+        return new GsonBuilder().setPrettyPrinting().create().toJson(report);
+    }
+
+    private static String toCsv(Map<Key, Stat> merged) {
+        StringBuilder csv = new StringBuilder("page,locator,condition,count,timeouts,total_ms,p50_ms,p95_ms,p99_ms,max_ms\n");
+        merged.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Key, Stat> e) -> e.getKey().page)
+                        .thenComparing(e -> e.getKey().locator))
+                .forEach(entry -> {
+                    Key key = entry.getKey();
+                    LatencyHistogram h = entry.getValue().histogram;
+                    csv.append(quote(key.page)).append(',')
+                            .append(quote(key.locator)).append(',')
+                            .append(key.condition).append(',')
+                            .append(h.getCount()).append(',')
+                            .append(entry.getValue().timeouts).append(',')
+                            .append(h.getSum()).append(',')
+                            .append(h.valueAtPercentile(50)).append(',')
+                            .append(h.valueAtPercentile(95)).append(',')
+                            .append(h.valueAtPercentile(99)).append(',')
+                            .append(h.getMax()).append('\n');
+                });
+        return csv.toString();
+    }
+
+    private static JsonObject row(Key key, Stat stat) {
+        JsonObject row = percentiles(stat.histogram);
+        row.addProperty("page", key.page);
+        row.addProperty("locator", key.locator);
+        row.addProperty("condition", key.condition);
+        row.addProperty("timeouts", stat.timeouts);
+        return row;
+    }
+
+    private static JsonObject percentiles(LatencyHistogram histogram) {
+        JsonObject json = new JsonObject();
+        json.addProperty("count", histogram.getCount());
+        json.addProperty("totalMs", histogram.getSum());
+        json.addProperty("p50Ms", histogram.valueAtPercentile(50));
+        json.addProperty("p95Ms", histogram.valueAtPercentile(95));
+        json.addProperty("p99Ms", histogram.valueAtPercentile(99));
+        json.addProperty("maxMs", histogram.getMax());
+        return json;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static final class Key {
+
+        private final String page;
+        private final String locator;
+        private final String condition;
+
+        private Key(String page, String locator, String condition) {
+            this.page = page;
+            this.locator = locator;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return page.equals(other.page) && locator.equals(other.locator) && condition.equals(other.condition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(page, locator, condition);
+        }
+    }
+
+    private static final class Stat {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long timeouts;
+    }
+}
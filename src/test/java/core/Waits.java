@@ -1,13 +1,15 @@
 package core;
 
+import config.Config;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
@@ -15,34 +17,93 @@ import java.util.function.Function;
 /**
  * Utility class for various wait operations.
  * Provides explicit waits with different conditions.
+ * Polling follows a configurable {@link PollingPolicy}, and every wait
+ * records its poll count and time to satisfaction.
+ * With wait.backend=observer, visibility, text and attribute waits run
+ * inside the page and cost a single driver command.
  */
 public class Waits {
 
     private static final Logger logger = LogManager.getLogger(Waits.class);
+
+    /**
+     * Async script that resolves once the condition holds in the page, or with null on timeout.
+     * It re-checks on every DOM mutation and on a short in-page interval (for pure CSS changes),
+     * so the whole wait costs one driver command.
+     */
+    private static final String OBSERVER_SCRIPT =
+            "var condition = arguments[0], using = arguments[1], value = arguments[2],"
+                    + "    expected = arguments[3], extra = arguments[4], timeout = arguments[5],"
+                    + "    done = arguments[arguments.length - 1];"
+                    + ScriptLocator.FIND_ALL_FUNCTION
+                    + ScriptLocator.IS_VISIBLE_FUNCTION
+                    + "function check() {"
+                    + "  var el = findAll(using, value)[0];"
+                    + "  if (!el) { return null; }"
+                    + "  if (condition === 'visible') { return isVisible(el) ? el : null; }"
+                    + "  if (condition === 'textPresent') {"
+                    + "    return (el.innerText || el.textContent || '').indexOf(expected) !== -1 ? true : null;"
+                    + "  }"
+                    + "  var actual = el.getAttribute(expected);"
+                    + "  if (actual === null && expected in el) { actual = String(el[expected]); }"
+                    + "  return actual === extra ? true : null;"
+                    + "}"
+                    + "var initial = check();"
+                    + "if (initial !== null) { done(initial); return; }"
+                    + "var finished = false, observer, interval, timer;"
+                    + "function finish(result) {"
+                    + "  if (finished) { return; }"
+                    + "  finished = true; observer.disconnect(); clearInterval(interval); clearTimeout(timer);"
+                    + "  done(result);"
+                    + "}"
+                    + "function recheck() { var result = check(); if (result !== null) { finish(result); } }"
+                    + "observer = new MutationObserver(recheck);"
+                    + "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+                    + "interval = setInterval(recheck, 100);"
+                    + "timer = setTimeout(function () { finish(null); }, timeout);";
+
     private final WebDriver driver;
     private final int defaultTimeout;
-    private final int pollingInterval;
+    private final PollingPolicy pollingPolicy;
+    private final long probeBudgetMillis;
+    private final boolean useObserver;
+    private final int scriptTimeoutSeconds;
+    private volatile WaitRecord lastWait;
 
     /**
-     * Constructor with default timeout of 10 seconds.
+     * Constructor using explicit.wait and the polling policy from configuration.
      *
      * @param driver WebDriver instance
      */
     public Waits(WebDriver driver) {
-        this(driver, 10, 500);
+        this(driver, Config.getIntProperty("explicit.wait", 15), PollingPolicy.fromConfig());
     }
 
     /**
-     * Constructor with custom timeout and polling interval.
+     * Constructor with custom timeout and fixed polling interval.
      *
      * @param driver          WebDriver instance
      * @param timeoutSeconds  Timeout in seconds
      * @param pollingMillis   Polling interval in milliseconds
      */
     public Waits(WebDriver driver, int timeoutSeconds, int pollingMillis) {
+        this(driver, timeoutSeconds, PollingPolicy.fixed(Duration.ofMillis(pollingMillis)));
+    }
+
+    /**
+     * Constructor with custom timeout and polling policy.
+     *
+     * @param driver          WebDriver instance
+     * @param timeoutSeconds  Timeout in seconds
+     * @param pollingPolicy   Policy deciding the delay between polls
+     */
+    public Waits(WebDriver driver, int timeoutSeconds, PollingPolicy pollingPolicy) {
         this.driver = driver;
         this.defaultTimeout = timeoutSeconds;
-        this.pollingInterval = pollingMillis;
+        this.pollingPolicy = pollingPolicy;
+        this.probeBudgetMillis = Config.getIntProperty("negative.probe.timeout.ms", 500);
+        this.useObserver = "observer".equalsIgnoreCase(Config.getProperty("wait.backend", "observer"));
+        this.scriptTimeoutSeconds = Config.getIntProperty("script.timeout", 30);
     }
 
     /**
@@ -64,8 +125,8 @@ public class Waits {
      */
     public WebElement waitForVisible(By locator, int timeoutSeconds) {
         logger.debug("Waiting for element to be visible: {}", locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return observe("visible", locator, timeoutSeconds, null, null, 2,
+                ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     /**
@@ -87,8 +148,34 @@ public class Waits {
      */
     public WebElement waitForClickable(By locator, int timeoutSeconds) {
         logger.debug("Waiting for element to be clickable: {}", locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.elementToBeClickable(locator));
+        return until("clickable", locator, 3, timeoutSeconds,
+                ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    /**
+     * Waits for an element resolved earlier from the locator, e.g. a cached one, to be visible.
+     * Fails at once with StaleElementReferenceException if the element has left the DOM.
+     *
+     * @param locator Locator the element was resolved from, used for reporting
+     * @param element Element to check
+     * @return The element when visible
+     */
+    public WebElement waitForVisible(By locator, WebElement element) {
+        return until("visible", locator, 1, defaultTimeout, pollingPolicy, false,
+                d -> element.isDisplayed() ? element : null);
+    }
+
+    /**
+     * Waits for an element resolved earlier from the locator, e.g. a cached one, to be clickable.
+     * Fails at once with StaleElementReferenceException if the element has left the DOM.
+     *
+     * @param locator Locator the element was resolved from, used for reporting
+     * @param element Element to check
+     * @return The element when visible and enabled
+     */
+    public WebElement waitForClickable(By locator, WebElement element) {
+        return until("clickable", locator, 2, defaultTimeout, pollingPolicy, false,
+                d -> element.isDisplayed() && element.isEnabled() ? element : null);
     }
 
     /**
@@ -110,8 +197,8 @@ public class Waits {
      */
     public WebElement waitForPresence(By locator, int timeoutSeconds) {
         logger.debug("Waiting for element presence: {}", locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.presenceOfElementLocated(locator));
+        return until("present", locator, 1, timeoutSeconds,
+                ExpectedConditions.presenceOfElementLocated(locator));
     }
 
     /**
@@ -133,8 +220,8 @@ public class Waits {
      */
     public boolean waitForInvisible(By locator, int timeoutSeconds) {
         logger.debug("Waiting for element to be invisible: {}", locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return until("invisible", locator, 2, timeoutSeconds,
+                ExpectedConditions.invisibilityOfElementLocated(locator));
     }
 
     /**
@@ -156,8 +243,100 @@ public class Waits {
      */
     public List<WebElement> waitForAllVisible(By locator, int timeoutSeconds) {
         logger.debug("Waiting for all elements to be visible: {}", locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+        return until("allVisible", locator, 2, timeoutSeconds,
+                ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+    }
+
+    /**
+     * Finds all matching elements without waiting.
+     * With implicit waits disabled this returns immediately when nothing matches.
+     *
+     * @param locator Element locator
+     * @return List of matching WebElements, possibly empty
+     */
+    public List<WebElement> findAll(By locator) {
+        return driver.findElements(locator);
+    }
+
+    /**
+     * Probes whether an element is displayed within the negative-probe budget.
+     * Intended for absence checks that are expected to return false quickly.
+     *
+     * @param locator Element locator
+     * @return true if the element is displayed
+     */
+    public boolean probeDisplayed(By locator) {
+        return probe(locator, probeBudgetMillis, false);
+    }
+
+    /**
+     * Probes whether an element is enabled within the negative-probe budget.
+     *
+     * @param locator Element locator
+     * @return true if the element is present and enabled
+     */
+    public boolean probeEnabled(By locator) {
+        return probe(locator, probeBudgetMillis, true);
+    }
+
+    /**
+     * Probes an element's state, polling until it matches or the budget runs out.
+     * Time spent on negative results is recorded in {@link NegativeCheckStats}.
+     *
+     * @param locator      Element locator
+     * @param budgetMillis Probe budget in milliseconds
+     * @param enabled      Check enabled state instead of displayed state
+     * @return true if the first matching element is displayed (or enabled)
+     */
+    public boolean probe(By locator, long budgetMillis, boolean enabled) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000L;
+        boolean found = false;
+        while (true) {
+            try {
+                List<WebElement> elements = driver.findElements(locator);
+                found = !elements.isEmpty()
+                        && (enabled ? elements.get(0).isEnabled() : elements.get(0).isDisplayed());
+            } catch (StaleElementReferenceException e) {
+                found = false;
+            }
+            if (found || System.nanoTime() >= deadline) {
+                break;
+            }
+            sleep(Math.min(50, budgetMillis));
+        }
+        long elapsed = System.nanoTime() - start;
+        NegativeCheckStats.record(found, elapsed);
+        // A negative probe answers the question it was asked, so it never counts as a timeout
+        WaitTelemetry.record(new WaitRecord("probe", locator, 0, 0, elapsed / 1_000_000L, true));
+        logger.debug("Probe for {} returned {} in {} ms", locator, found, elapsed / 1_000_000L);
+        return found;
+    }
+
+    /**
+     * Checks whether an element becomes visible within the default timeout.
+     *
+     * @param locator Element locator
+     * @return true if the element became visible
+     */
+    public boolean isVisibleWithin(By locator) {
+        return isVisibleWithin(locator, defaultTimeout);
+    }
+
+    /**
+     * Checks whether an element becomes visible within a custom timeout.
+     *
+     * @param locator        Element locator
+     * @param timeoutSeconds Custom timeout in seconds
+     * @return true if the element became visible
+     */
+    public boolean isVisibleWithin(By locator, int timeoutSeconds) {
+        try {
+            waitForVisible(locator, timeoutSeconds);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
     }
 
     /**
@@ -181,8 +360,8 @@ public class Waits {
      */
     public boolean waitForTextPresent(By locator, String text, int timeoutSeconds) {
         logger.debug("Waiting for text '{}' in element: {}", text, locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        return observe("textPresent", locator, timeoutSeconds, text, null, 2,
+                ExpectedConditions.textToBePresentInElementLocated(locator, text));
     }
 
     /**
@@ -204,8 +383,8 @@ public class Waits {
      */
     public boolean waitForUrlContains(String urlFragment, int timeoutSeconds) {
         logger.debug("Waiting for URL to contain: {}", urlFragment);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.urlContains(urlFragment));
+        return until("urlContains", urlFragment, 1, timeoutSeconds,
+                ExpectedConditions.urlContains(urlFragment));
     }
 
     /**
@@ -222,7 +401,7 @@ public class Waits {
      */
     public void waitForPageLoad(int timeoutSeconds) {
         logger.debug("Waiting for page to fully load");
-        new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds)).until(
+        until("pageLoad", null, 1, timeoutSeconds,
                 (ExpectedCondition<Boolean>) wd -> {
                     JavascriptExecutor js = (JavascriptExecutor) wd;
                     return js.executeScript("return document.readyState").equals("complete");
@@ -231,38 +410,61 @@ public class Waits {
     }
 
     /**
-     * Waits for AJAX calls to complete using jQuery.
+     * Waits for AJAX calls to complete.
+     * Delegates to {@link #waitForNetworkIdle(int)}, so fetch-based pages are covered too.
      */
     public void waitForAjax() {
         waitForAjax(defaultTimeout);
     }
 
     /**
-     * Waits for AJAX calls to complete using jQuery with custom timeout.
+     * Waits for AJAX calls to complete with custom timeout.
      *
      * @param timeoutSeconds Custom timeout in seconds
      */
     public void waitForAjax(int timeoutSeconds) {
-        logger.debug("Waiting for AJAX calls to complete");
-        new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds)).until(
-                (ExpectedCondition<Boolean>) wd -> {
-                    JavascriptExecutor js = (JavascriptExecutor) wd;
-                    return (Boolean) js.executeScript(
-                            "return typeof jQuery !== 'undefined' ? jQuery.active === 0 : true"
-                    );
-                }
-        );
+        waitForNetworkIdle(timeoutSeconds);
+    }
+
+    /**
+     * Waits until no tracked network request has been in flight for network.idle.window.ms.
+     */
+    public void waitForNetworkIdle() {
+        waitForNetworkIdle(defaultTimeout);
+    }
+
+    /**
+     * Waits until no tracked network request has been in flight for network.idle.window.ms,
+     * with custom timeout. URLs matching network.idle.ignore (analytics, long-polling) are ignored.
+     *
+     * @param timeoutSeconds Custom timeout in seconds
+     */
+    public void waitForNetworkIdle(int timeoutSeconds) {
+        logger.debug("Waiting for network idle");
+        Duration idleWindow = Duration.ofMillis(Config.getIntProperty("network.idle.window.ms", 500));
+        Duration timeout = Duration.ofSeconds(Math.min(timeoutSeconds, scriptTimeoutSeconds - 1));
+        long start = System.nanoTime();
+        boolean satisfied = false;
+        int roundTrips = 0;
+        try {
+            roundTrips = NetworkIdleTracker.forDriver(driver).waitForIdle(driver, idleWindow, timeout);
+            satisfied = true;
+        } finally {
+            record(new WaitRecord("networkIdle", null, 1, roundTrips,
+                    (System.nanoTime() - start) / 1_000_000L, satisfied));
+        }
     }
 
     /**
      * Fluent wait with custom conditions and exception handling.
+     * Polls according to the configured polling policy.
      *
      * @param condition Custom condition to wait for
      * @param <T>       Return type
      * @return Result of the condition
      */
     public <T> T fluentWait(Function<WebDriver, T> condition) {
-        return fluentWait(condition, defaultTimeout, pollingInterval);
+        return until("fluentWait", null, 1, defaultTimeout, pollingPolicy, true, condition);
     }
 
     /**
@@ -275,13 +477,99 @@ public class Waits {
      * @return Result of the condition
      */
     public <T> T fluentWait(Function<WebDriver, T> condition, int timeoutSeconds, int pollingMillis) {
-        FluentWait<WebDriver> wait = new FluentWait<>(driver)
-                .withTimeout(Duration.ofSeconds(timeoutSeconds))
-                .pollingEvery(Duration.ofMillis(pollingMillis))
-                .ignoring(NoSuchElementException.class)
-                .ignoring(StaleElementReferenceException.class);
-        
-        return wait.until(condition);
+        return until("fluentWait", null, 1, timeoutSeconds, PollingPolicy.fixed(Duration.ofMillis(pollingMillis)), true, condition);
+    }
+
+    /**
+     * Gets the outcome of the most recent wait run by this instance.
+     *
+     * @return Last wait record, or null if no wait has run yet
+     */
+    public WaitRecord getLastWait() {
+        return lastWait;
+    }
+
+    /**
+     * Gets the default timeout of this instance.
+     *
+     * @return Timeout in seconds
+     */
+    public int getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    private <T> T until(String condition, Object target, int commandsPerPoll, int timeoutSeconds,
+                        Function<? super WebDriver, T> check) {
+        return until(condition, target, commandsPerPoll, timeoutSeconds, pollingPolicy, true, check);
+    }
+
+    /**
+     * Runs a condition until it is satisfied, sleeping between polls as the policy dictates,
+     * and records the number of polls, the estimated driver round trips and the elapsed time.
+     * Stale elements are retried only when the check looks the element up again.
+     */
+    private <T> T until(String condition, Object target, int commandsPerPoll, int timeoutSeconds,
+                        PollingPolicy policy, boolean ignoreStale, Function<? super WebDriver, T> check) {
+        Duration timeout = Duration.ofSeconds(timeoutSeconds);
+        PolicySleeper sleeper = new PolicySleeper(policy, timeout);
+        WebDriverWait wait = new WebDriverWait(driver, timeout, policy.delay(1), Clock.systemDefaultZone(), sleeper);
+        if (ignoreStale) {
+            wait.ignoring(StaleElementReferenceException.class);
+        }
+
+        long start = System.nanoTime();
+        boolean satisfied = false;
+        try {
+            T result = wait.until(check);
+            satisfied = true;
+            return result;
+        } finally {
+            int polls = sleeper.sleeps + 1;
+            record(new WaitRecord(condition, target, polls, polls * commandsPerPoll,
+                    (System.nanoTime() - start) / 1_000_000L, satisfied));
+        }
+    }
+
+    /**
+     * Waits for a condition inside the page with a MutationObserver, in a single driver command.
+     * Falls back to polling when the locator cannot be expressed in script, the wait exceeds
+     * the script timeout, or the browser refuses to run the script.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T observe(String condition, By locator, int timeoutSeconds, Object expected, Object extra,
+                          int commandsPerPoll, Function<? super WebDriver, T> pollingCheck) {
+        if (!useObserver || timeoutSeconds >= scriptTimeoutSeconds || !ScriptLocator.supports(locator)) {
+            return until(condition, locator, commandsPerPoll, timeoutSeconds, pollingCheck);
+        }
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVER_SCRIPT, condition,
+                    ScriptLocator.using(locator), ScriptLocator.value(locator), expected, extra,
+                    timeoutSeconds * 1000L);
+        } catch (TimeoutException | NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            logger.debug("Observer wait unavailable for {}, falling back to polling: {}", locator, e.getMessage());
+            int remaining = (int) Math.max(1, timeoutSeconds - (System.nanoTime() - start) / 1_000_000_000L);
+            return until(condition, locator, commandsPerPoll, remaining, pollingCheck);
+        }
+
+        boolean satisfied = result != null;
+        record(new WaitRecord(condition, locator, 1, 1, (System.nanoTime() - start) / 1_000_000L, satisfied));
+        if (!satisfied) {
+            throw new TimeoutException(String.format(
+                    "Expected condition failed: waiting for %s of %s (observed for %d second(s))",
+                    condition, locator, timeoutSeconds));
+        }
+        return (T) result;
+    }
+
+    private void record(WaitRecord record) {
+        lastWait = record;
+        WaitTelemetry.record(record);
+        logger.debug("Wait {}", record);
     }
 
     /**
@@ -321,8 +609,8 @@ public class Waits {
      */
     public boolean waitForAttributeValue(By locator, String attribute, String value, int timeoutSeconds) {
         logger.debug("Waiting for attribute '{}' to have value '{}': {}", attribute, value, locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.attributeToBe(locator, attribute, value));
+        return observe("attributeValue", locator, timeoutSeconds, attribute, value, 2,
+                ExpectedConditions.attributeToBe(locator, attribute, value));
     }
 
     /**
@@ -344,8 +632,8 @@ public class Waits {
      */
     public WebDriver waitForFrameAndSwitch(By locator, int timeoutSeconds) {
         logger.debug("Waiting for frame and switching: {}", locator);
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
+        return until("frameAvailable", locator, 2, timeoutSeconds,
+                ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
     }
 
     /**
@@ -365,7 +653,32 @@ public class Waits {
      */
     public Alert waitForAlert(int timeoutSeconds) {
         logger.debug("Waiting for alert to be present");
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.alertIsPresent());
+        return until("alertPresent", null, 1, timeoutSeconds,
+                ExpectedConditions.alertIsPresent());
+    }
+
+    /**
+     * Sleeper that follows a polling policy and never sleeps past the wait's deadline.
+     */
+    private static final class PolicySleeper implements Sleeper {
+
+        private final PollingPolicy policy;
+        private final long deadline;
+        private int sleeps;
+
+        private PolicySleeper(PollingPolicy policy, Duration timeout) {
+            this.policy = policy;
+            this.deadline = System.nanoTime() + timeout.toNanos();
+        }
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            sleeps++;
+            long remaining = deadline - System.nanoTime();
+            long delay = Math.min(policy.delay(sleeps).toNanos(), Math.max(0, remaining));
+            if (delay > 0) {
+                Thread.sleep(delay / 1_000_000L, (int) (delay % 1_000_000L));
+            }
+        }
     }
 }
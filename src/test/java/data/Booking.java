@@ -0,0 +1,74 @@
+package data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Booking from the test data file.
+ */
+public final class Booking {
+
+    private final int id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+    private final String roomType;
+    private final int guests;
+    private final BigDecimal totalPrice;
+
+    public Booking(int id, String firstName, String lastName, String email, LocalDate checkInDate,
+                   LocalDate checkOutDate, String roomType, int guests, BigDecimal totalPrice) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.roomType = roomType;
+        this.guests = guests;
+        this.totalPrice = totalPrice;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public int getGuests() {
+        return guests;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    @Override
+    public String toString() {
+        return "Booking " + id + " (" + roomType + ", " + checkInDate + " to " + checkOutDate + ")";
+    }
+}
@@ -0,0 +1,507 @@
+package data;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import config.Config;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streaming rows for data-driven tests, read lazily from a JSON array, a JSON Lines file
+ * or a CSV file (optionally gzipped) so the file is never loaded or parsed as a whole.
+ *
+ * <p>Rows keep the index of their position in the file, so {@link #range(long, long)} and
+ * {@link #shard(int, int)} select the same rows however the set is filtered, and several
+ * JVMs can split one file between them. Rows outside the selection are skipped without
+ * being bound, and reading stops at the end of the range.
+ *
+ * <p>TestNG does not keep a data provider's memory flat: it holds every test result with
+ * its parameters, and with parallel = true it reads the whole iterator before starting the
+ * first invocation. For very large sets, run slices with {@link #range(long, long)} or
+ * {@link #fromConfig()} sharding instead of the whole file in one run.
+ *
+ * <pre>
+ * &#64;DataProvider(name = "bookings")
+ * public Iterator&lt;Object[]&gt; bookings() {
+ *     return DataRows.jsonLines("testdata/bookings.jsonl", Booking.class)
+ *             .fromConfig()
+ *             .filter(booking -&gt; "Deluxe".equals(booking.getRoomType()))
+ *             .asParameters();
+ * }
+ * </pre>
+ *
+ * @param <T> Row type
+ */
+public final class DataRows<T> implements Iterable<T> {
+
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter().nullSafe())
+            .create();
+
+    private final Source source;
+    private final Function<Object, T> transform;
+    private final long from;
+    private final long to;
+    private final int shardIndex;
+    private final int shardCount;
+
+    private DataRows(Source source, Function<Object, T> transform, long from, long to, int shardIndex, int shardCount) {
+        this.source = source;
+        this.transform = transform;
+        this.from = from;
+        this.to = to;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Rows from a JSON array, bound to a type one element at a time.
+     *
+     * @param filePath JSON file
+     * @param member   Top-level member holding the array, e.g. "bookings"; empty when the
+     *                 document itself is the array
+     * @param type     Row type
+     * @param <T>      Row type
+     * @return Rows of the array
+     */
+    public static <T> DataRows<T> json(String filePath, String member, Class<T> type) {
+        return create(() -> new JsonArrayReader(filePath, member, type));
+    }
+
+    /**
+     * Rows from a JSON Lines file, one JSON value per line; blank lines are ignored.
+     *
+     * @param filePath JSON Lines file
+     * @param type     Row type
+     * @param <T>      Row type
+     * @return Rows of the file
+     */
+    public static <T> DataRows<T> jsonLines(String filePath, Class<T> type) {
+        return create(() -> new JsonLinesReader(filePath, type));
+    }
+
+    /**
+     * Rows from a CSV file with a header line, as maps from column name to value in
+     * column order. Quoted fields may contain commas, doubled quotes and line breaks.
+     *
+     * @param filePath CSV file
+     * @return Rows of the file
+     */
+    public static DataRows<Map<String, String>> csv(String filePath) {
+        return create(() -> new CsvReader(filePath));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DataRows<T> create(Source source) {
+        return new DataRows<>(source, row -> (T) row, 0, Long.MAX_VALUE, 0, 1);
+    }
+
+    /**
+     * Keeps only the rows matching a condition.
+     *
+     * @param condition Row condition
+     * @return Filtered rows
+     */
+    public DataRows<T> filter(Predicate<? super T> condition) {
+        return new DataRows<>(source, row -> {
+            T value = transform.apply(row);
+            return value != null && condition.test(value) ? value : null;
+        }, from, to, shardIndex, shardCount);
+    }
+
+    /**
+     * Converts the rows, e.g. CSV maps into request bodies.
+     *
+     * @param mapper Row conversion
+     * @param <R>    New row type
+     * @return Converted rows
+     */
+    public <R> DataRows<R> map(Function<? super T, ? extends R> mapper) {
+        return new DataRows<>(source, row -> {
+            T value = transform.apply(row);
+            return value == null ? null : mapper.apply(value);
+        }, from, to, shardIndex, shardCount);
+    }
+
+    /**
+     * Keeps the rows at file positions from (inclusive) to (exclusive), counted from 0.
+     *
+     * @param from First row index
+     * @param to   Index after the last row
+     * @return Rows in the range
+     */
+    public DataRows<T> range(long from, long to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid row range " + from + ".." + to);
+        }
+        return new DataRows<>(source, transform, Math.max(this.from, from), Math.min(this.to, to), shardIndex, shardCount);
+    }
+
+    /**
+     * Keeps every count-th row starting at index, so count JVMs each run one shard of a
+     * file whose size is not known up front.
+     *
+     * @param index Shard number, from 0
+     * @param count Number of shards
+     * @return Rows of the shard
+     */
+    public DataRows<T> shard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        return new DataRows<>(source, transform, from, to, index, count);
+    }
+
+    /**
+     * Applies data.rows.from, data.rows.to, data.shard.index and data.shard.count, e.g.
+     * -Ddata.shard.index=1 -Ddata.shard.count=4 on the second of four JVMs.
+     *
+     * @return Rows selected by the configuration
+     */
+    public DataRows<T> fromConfig() {
+        int rowsTo = Config.getIntProperty("data.rows.to", -1);
+        return range(Config.getIntProperty("data.rows.from", 0), rowsTo < 0 ? Long.MAX_VALUE : rowsTo)
+                .shard(Config.getIntProperty("data.shard.index", 0), Config.getIntProperty("data.shard.count", 1));
+    }
+
+    /**
+     * Reads the rows from the start of the file. The file is closed when the iterator is
+     * exhausted or a row cannot be read.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new RowIterator<>(this);
+    }
+
+    /**
+     * Rows as @DataProvider parameters, one row argument per invocation. The iterator is
+     * synchronized, so it can back a provider with parallel = true. A sequential provider
+     * reads one row per invocation; a parallel one is read to the end by TestNG before the
+     * first invocation starts, so every selected row is bound up front.
+     *
+     * @return Lazy parameter iterator
+     */
+    public Iterator<Object[]> asParameters() {
+        Iterator<T> rows = iterator();
+        return new Iterator<>() {
+            @Override
+            public synchronized boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public synchronized Object[] next() {
+                return new Object[]{rows.next()};
+            }
+        };
+    }
+
+    private static final class RowIterator<T> implements Iterator<T> {
+
+        private final DataRows<T> rows;
+        private RowReader reader;
+        private long index = -1;
+        private T next;
+
+        private RowIterator(DataRows<T> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T row = next;
+            next = null;
+            return row;
+        }
+
+        private T advance() {
+            try {
+                if (reader == null) {
+                    if (index >= 0) {
+                        return null;
+                    }
+                    reader = rows.source.open();
+                }
+                while (++index < rows.to) {
+                    if (index < rows.from || index % rows.shardCount != rows.shardIndex) {
+                        if (!reader.skip()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    Object raw = reader.read();
+                    if (raw == null) {
+                        break;
+                    }
+                    T row = rows.transform.apply(raw);
+                    if (row != null) {
+                        return row;
+                    }
+                }
+                close();
+                return null;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Failed to read data row " + index, e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void close() {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException ignored) {
+                    // Nothing more is read from it
+                }
+                reader = null;
+            }
+            index = Long.MAX_VALUE;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        RowReader open() throws IOException;
+    }
+
+    /**
+     * Sequential reader over one file; read and skip report the end of the rows as null and false.
+     */
+    private interface RowReader extends Closeable {
+
+        Object read() throws IOException;
+
+        boolean skip() throws IOException;
+    }
+
+    private static BufferedReader open(String filePath) throws IOException {
+        InputStream in = Files.newInputStream(Paths.get(filePath));
+        if (filePath.endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private static final class JsonArrayReader implements RowReader {
+
+        private final JsonReader json;
+        private final Class<?> type;
+
+        private JsonArrayReader(String filePath, String member, Class<?> type) throws IOException {
+            this.json = new JsonReader(open(filePath));
+            this.type = type;
+            try {
+                if (!member.isEmpty()) {
+                    json.beginObject();
+                    while (!json.nextName().equals(member)) {
+                        json.skipValue();
+                    }
+                }
+                json.beginArray();
+            } catch (IOException | IllegalStateException e) {
+                json.close();
+                throw new IOException("No array " + (member.isEmpty() ? "document" : "'" + member + "'")
+                        + " in " + filePath, e);
+            }
+        }
+
+        @Override
+        public Object read() throws IOException {
+            return json.hasNext() ? gson.fromJson(json, type) : null;
+        }
+
+        @Override
+        public boolean skip() throws IOException {
+            if (!json.hasNext()) {
+                return false;
+            }
+            json.skipValue();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+        }
+    }
+
+    private static final class JsonLinesReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final Class<?> type;
+
+        private JsonLinesReader(String filePath, Class<?> type) throws IOException {
+            this.reader = open(filePath);
+            this.type = type;
+        }
+
+        @Override
+        public Object read() throws IOException {
+            String line = nextLine();
+            return line == null ? null : gson.fromJson(line, type);
+        }
+
+        @Override
+        public boolean skip() throws IOException {
+            return nextLine() != null;
+        }
+
+        private String nextLine() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class CsvReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final List<String> header;
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> fields = new ArrayList<>();
+
+        private CsvReader(String filePath) throws IOException {
+            this.reader = open(filePath);
+            List<String> names = record();
+            if (names == null) {
+                reader.close();
+                throw new IOException("No CSV header in " + filePath);
+            }
+            if (!names.isEmpty() && names.get(0).startsWith("\uFEFF")) {
+                names.set(0, names.get(0).substring(1));
+            }
+            this.header = List.copyOf(names);
+        }
+
+        @Override
+        public Object read() throws IOException {
+            List<String> values = record();
+            if (values == null) {
+                return null;
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), i < values.size() ? values.get(i) : "");
+            }
+            return row;
+        }
+
+        @Override
+        public boolean skip() throws IOException {
+            return record() != null;
+        }
+
+        /**
+         * Reads one record, which spans several lines when a quoted field contains line breaks.
+         *
+         * @return Fields of the record, reused by the next call; null at the end of the file
+         */
+        private List<String> record() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isEmpty());
+            if (line == null) {
+                return null;
+            }
+            fields.clear();
+            field.setLength(0);
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    line = reader.readLine();
+                    if (line == null) {
+                        throw new IOException("Unterminated quoted CSV field");
+                    }
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class LocalDateAdapter extends TypeAdapter<LocalDate> {
+
+        @Override
+        public void write(JsonWriter out, LocalDate value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public LocalDate read(JsonReader in) throws IOException {
+            return LocalDate.parse(in.nextString());
+        }
+    }
+}
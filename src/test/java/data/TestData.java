@@ -4,15 +4,27 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import config.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Test data access: credentials from the configuration and typed bookings and users
+ * from the test data file (testdata.file).
+ */
 public class TestData {
 
+    private static final Logger logger = LogManager.getLogger(TestData.class);
     private static final Gson gson = new Gson();
+    private static final String DEFAULT_FILE = "src/test/resources/testdata/booking.json";
+    private static volatile Loaded loaded;
 
     public static String getTestUsername() {
         return Config.getProperty("test.username", "testuser");
@@ -22,44 +34,85 @@ public class TestData {
         return Config.getProperty("test.password", "testpass123");
     }
 
-    public static JsonObject loadJsonFile(String filePath) {
-        try (FileReader reader = new FileReader(filePath)) {
-            return gson.fromJson(reader, JsonObject.class);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load JSON file: " + filePath, e);
+    /**
+     * Gets the typed test data repository, parsing the file on first use.
+     * The file is re-read only when testdata.file names another file or the file's
+     * modification time or size changed, checked at most every testdata.reload.check.ms,
+     * so lookups normally cost no I/O.
+     *
+     * @return Current repository
+     */
+    public static TestDataRepository repository() {
+        Loaded current = loaded;
+        long now = System.nanoTime();
+        if (current != null && now - current.nextCheck < 0) {
+            return current.repository;
         }
+        synchronized (TestData.class) {
+            current = loaded;
+            if (current == null || System.nanoTime() - current.nextCheck >= 0) {
+                loaded = current = refresh(current);
+            }
+            return current.repository;
+        }
+    }
+
+    /**
+     * @param id Booking ID
+     * @return Booking, or null when there is none with the ID
+     */
+    public static Booking getBooking(int id) {
+        return repository().getBooking(id);
     }
 
+    /**
+     * @param username Username
+     * @return User, or null when there is none with the name
+     */
+    public static User getUser(String username) {
+        return repository().getUser(username);
+    }
+
+    /**
+     * @deprecated Use {@link #repository()} and the typed {@link Booking} objects.
+     */
+    @Deprecated
     public static JsonArray getBookingsData() {
-        JsonObject data = loadJsonFile("src/test/resources/testdata/booking.json");
-        return data.getAsJsonArray("bookings");
+        return documentArray("bookings");
     }
 
+    /**
+     * @deprecated Use {@link #repository()} and the typed {@link User} objects.
+     */
+    @Deprecated
     public static JsonArray getUsersData() {
-        JsonObject data = loadJsonFile("src/test/resources/testdata/booking.json");
-        return data.getAsJsonArray("users");
+        return documentArray("users");
     }
 
+    /**
+     * @deprecated Use {@link #getBooking(int)}.
+     */
+    @Deprecated
     public static JsonObject getBookingById(int id) {
-        JsonArray bookings = getBookingsData();
-        for (int i = 0; i < bookings.size(); i++) {
-            JsonObject booking = bookings.get(i).getAsJsonObject();
-            if (booking.get("id").getAsInt() == id) {
-                return booking;
-            }
-        }
-        return null;
+        JsonObject booking = repository().getBookingJson(id);
+        return booking == null ? null : booking.deepCopy();
     }
 
+    /**
+     * @deprecated Use {@link #getUser(String)}.
+     */
+    @Deprecated
     public static JsonObject getUserByUsername(String username) {
-        JsonArray users = getUsersData();
-        for (int i = 0; i < users.size(); i++) {
-            JsonObject user = users.get(i).getAsJsonObject();
-            if (user.get("username").getAsString().equals(username)) {
-                return user;
-            }
+        JsonObject user = repository().getUserJson(username);
+        return user == null ? null : user.deepCopy();
+    }
+
+    public static JsonObject loadJsonFile(String filePath) {
+        try (FileReader reader = new FileReader(filePath)) {
+            return gson.fromJson(reader, JsonObject.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load JSON file: " + filePath, e);
         }
-        return null;
     }
 
     public static <T> T loadJsonAs(String filePath, Class<T> clazz) {
@@ -77,4 +130,51 @@ public class TestData {
             throw new RuntimeException("Failed to read file: " + filePath, e);
         }
     }
+
+    private static Loaded refresh(Loaded current) {
+        Path file = Paths.get(Config.getProperty("testdata.file", DEFAULT_FILE));
+        long checkInterval = TimeUnit.MILLISECONDS.toNanos(Config.getIntProperty("testdata.reload.check.ms", 1000));
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            long size = attributes.size();
+            if (current != null && current.file.equals(file) && current.modified == modified && current.size == size) {
+                return new Loaded(current.repository, file, modified, size, System.nanoTime() + checkInterval);
+            }
+            TestDataRepository repository = TestDataRepository.load(file);
+            logger.info("Test data {} from {}: {} bookings, {} users", current == null ? "loaded" : "reloaded",
+                    file, repository.getBookings().size(), repository.getUsers().size());
+            return new Loaded(repository, file, modified, size, System.nanoTime() + checkInterval);
+        } catch (IOException | RuntimeException e) {
+            if (current != null && current.file.equals(file)) {
+                // Keep serving the last good data while the file is being rewritten
+                logger.warn("Failed to reload test data from {}, keeping the previous version: {}", file, e.getMessage());
+                return new Loaded(current.repository, file, current.modified, current.size,
+                        System.nanoTime() + checkInterval);
+            }
+            throw new RuntimeException("Failed to load test data: " + file, e);
+        }
+    }
+
+    private static JsonArray documentArray(String name) {
+        JsonObject document = repository().getDocument();
+        return document.has(name) ? document.getAsJsonArray(name).deepCopy() : new JsonArray();
+    }
+
+    private static final class Loaded {
+
+        private final TestDataRepository repository;
+        private final Path file;
+        private final long modified;
+        private final long size;
+        private final long nextCheck;
+
+        private Loaded(TestDataRepository repository, Path file, long modified, long size, long nextCheck) {
+            this.repository = repository;
+            this.file = file;
+            this.modified = modified;
+            this.size = size;
+            this.nextCheck = nextCheck;
+        }
+    }
 }
@@ -0,0 +1,261 @@
+package data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, indexed view of one version of the test data file.
+ * Built once per file change by {@link TestData}; every lookup except the check-in range
+ * query is a hash lookup that returns pre-built objects or unmodifiable lists, so it
+ * allocates nothing and is safe to share across threads.
+ */
+public final class TestDataRepository {
+
+    private final JsonObject document;
+    private final List<Booking> bookings;
+    private final List<User> users;
+    private final IntIndex<Booking> bookingsById;
+    private final Map<String, User> usersByName;
+    private final Map<String, List<Booking>> bookingsByRoomType;
+    private final Map<LocalDate, Map<LocalDate, List<Booking>>> bookingsByStay;
+    private final NavigableMap<LocalDate, List<Booking>> bookingsByCheckIn;
+    private final IntIndex<JsonObject> bookingJsonById;
+    private final Map<String, JsonObject> userJsonByName;
+
+    private TestDataRepository(JsonObject document, List<Booking> bookings, List<User> users) {
+        this.document = document;
+        this.bookings = Collections.unmodifiableList(bookings);
+        this.users = Collections.unmodifiableList(users);
+
+        this.bookingsById = new IntIndex<>(bookings.size());
+        bookings.forEach(booking -> bookingsById.put(booking.getId(), booking));
+        this.usersByName = users.stream().collect(Collectors.toUnmodifiableMap(User::getUsername, user -> user,
+                (first, duplicate) -> first));
+        this.bookingsByRoomType = group(bookings, Booking::getRoomType);
+
+        Map<LocalDate, Map<LocalDate, List<Booking>>> byStay = new HashMap<>();
+        group(bookings, Booking::getCheckInDate).forEach((checkIn, sameCheckIn) ->
+                byStay.put(checkIn, group(sameCheckIn, Booking::getCheckOutDate)));
+        this.bookingsByStay = Collections.unmodifiableMap(byStay);
+        this.bookingsByCheckIn = Collections.unmodifiableNavigableMap(new TreeMap<>(group(bookings, Booking::getCheckInDate)));
+
+        // Raw items for the deprecated JsonObject lookups, in the same order as the typed lists
+        JsonArray bookingItems = array(document, "bookings");
+        this.bookingJsonById = new IntIndex<>(bookings.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            bookingJsonById.put(bookings.get(i).getId(), bookingItems.get(i).getAsJsonObject());
+        }
+        JsonArray userItems = array(document, "users");
+        Map<String, JsonObject> userJson = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            String username = users.get(i).getUsername();
+            if (username != null) {
+                userJson.putIfAbsent(username, userItems.get(i).getAsJsonObject());
+            }
+        }
+        this.userJsonByName = Collections.unmodifiableMap(userJson);
+    }
+
+    /**
+     * Parses a test data file with "bookings" and "users" arrays.
+     *
+     * @param file Test data file
+     * @return Repository over the file's contents
+     */
+    static TestDataRepository load(Path file) throws IOException {
+        JsonObject document;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            document = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        List<Booking> bookings = new ArrayList<>();
+        for (JsonElement element : array(document, "bookings")) {
+            bookings.add(toBooking(element.getAsJsonObject()));
+        }
+        List<User> users = new ArrayList<>();
+        for (JsonElement element : array(document, "users")) {
+            users.add(toUser(element.getAsJsonObject()));
+        }
+        return new TestDataRepository(document, bookings, users);
+    }
+
+    public List<Booking> getBookings() {
+        return bookings;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * @param id Booking ID
+     * @return Booking, or null when there is none with the ID
+     */
+    public Booking getBooking(int id) {
+        return bookingsById.get(id);
+    }
+
+    /**
+     * @param username Username
+     * @return User, or null when there is none with the name
+     */
+    public User getUser(String username) {
+        return usersByName.get(username);
+    }
+
+    /**
+     * @param roomType Room type, e.g. "Deluxe"
+     * @return Bookings of the room type, empty when there are none
+     */
+    public List<Booking> getBookingsByRoomType(String roomType) {
+        return bookingsByRoomType.getOrDefault(roomType, List.of());
+    }
+
+    /**
+     * @param checkIn  Check-in date
+     * @param checkOut Check-out date
+     * @return Bookings for exactly this stay, empty when there are none
+     */
+    public List<Booking> getBookingsByStay(LocalDate checkIn, LocalDate checkOut) {
+        Map<LocalDate, List<Booking>> sameCheckIn = bookingsByStay.get(checkIn);
+        return sameCheckIn == null ? List.of() : sameCheckIn.getOrDefault(checkOut, List.of());
+    }
+
+    /**
+     * Gets the bookings checking in within a date range. Unlike the other lookups this
+     * builds a new list, in check-in order.
+     *
+     * @param from First check-in date, inclusive
+     * @param to   Last check-in date, inclusive
+     * @return Bookings checking in between the dates
+     */
+    public List<Booking> getBookingsCheckingInBetween(LocalDate from, LocalDate to) {
+        List<Booking> result = new ArrayList<>();
+        bookingsByCheckIn.subMap(from, true, to, true).values().forEach(result::addAll);
+        return result;
+    }
+
+    JsonObject getDocument() {
+        return document;
+    }
+
+    /**
+     * @param id Booking ID
+     * @return The booking's item in the file, shared and not to be modified, or null
+     */
+    JsonObject getBookingJson(int id) {
+        return bookingJsonById.get(id);
+    }
+
+    /**
+     * @param username Username
+     * @return The user's item in the file, shared and not to be modified, or null
+     */
+    JsonObject getUserJson(String username) {
+        return userJsonByName.get(username);
+    }
+
+    private static <K> Map<K, List<Booking>> group(List<Booking> bookings, Function<Booking, K> key) {
+        Map<K, List<Booking>> groups = new HashMap<>();
+        for (Booking booking : bookings) {
+            K value = key.apply(booking);
+            if (value != null) {
+                groups.computeIfAbsent(value, k -> new ArrayList<>()).add(booking);
+            }
+        }
+        groups.replaceAll((k, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(groups);
+    }
+
+    private static JsonArray array(JsonObject document, String name) {
+        return document.has(name) ? document.getAsJsonArray(name) : new JsonArray();
+    }
+
+    private static Booking toBooking(JsonObject json) {
+        return new Booking(
+                json.get("id").getAsInt(),
+                string(json, "firstName"),
+                string(json, "lastName"),
+                string(json, "email"),
+                date(json, "checkInDate"),
+                date(json, "checkOutDate"),
+                string(json, "roomType"),
+                json.has("guests") ? json.get("guests").getAsInt() : 0,
+                json.has("totalPrice") ? json.get("totalPrice").getAsBigDecimal() : BigDecimal.ZERO);
+    }
+
+    private static User toUser(JsonObject json) {
+        return new User(string(json, "username"), string(json, "password"), string(json, "role"));
+    }
+
+    private static String string(JsonObject json, String name) {
+        JsonElement value = json.get(name);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    private static LocalDate date(JsonObject json, String name) {
+        String value = string(json, name);
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    /**
+     * Open-addressing map from int keys, so ID lookups do not box the key.
+     */
+    private static final class IntIndex<V> {
+
+        private final int[] keys;
+        private final Object[] values;
+        private final int mask;
+
+        private IntIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+            keys = new int[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+
+        private void put(int key, V value) {
+            int slot = slot(key);
+            while (values[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            // First booking with an ID wins, as with the linear scan this replaces
+            if (values[slot] == null) {
+                keys[slot] = key;
+                values[slot] = value;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V get(int key) {
+            for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return (V) values[slot];
+                }
+            }
+            return null;
+        }
+
+        private int slot(int key) {
+            return (key * 0x9E3779B9) >>> 1 & mask;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package data;
+
+/**
+ * User account from the test data file.
+ */
+public final class User {
+
+    private final String username;
+    private final String password;
+    private final String role;
+
+    public User(String username, String password, String role) {
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return "User " + username + " (" + role + ")";
+    }
+}
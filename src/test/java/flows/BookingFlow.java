@@ -1,5 +1,6 @@
 package flows;
 
+import core.BrowserStateStore;
 import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import pages.HomePage;
@@ -7,49 +8,75 @@ import pages.SearchPage;
 
 public class BookingFlow {
 
-    private final HomePage homePage;
-    private final SearchPage searchPage;
+    private final WebDriver driver;
+    private HomePage homePage;
+    private SearchPage searchPage;
 
     public BookingFlow(WebDriver driver) {
-        this.homePage = new HomePage(driver);
-        this.searchPage = new SearchPage(driver);
+        this.driver = driver;
+    }
+
+    private HomePage homePage() {
+        if (homePage == null) {
+            homePage = new HomePage(driver);
+        }
+        return homePage;
+    }
+
+    private SearchPage searchPage() {
+        if (searchPage == null) {
+            searchPage = new SearchPage(driver);
+        }
+        return searchPage;
     }
 
     @Step("Search and book room: {roomType}")
     public void searchAndBook(String roomType, String checkInDate, String checkOutDate) {
-        homePage.goToSearchPage();
-        searchPage.enterSearchQuery(roomType);
-        searchPage.selectCheckInDate(checkInDate);
-        searchPage.selectCheckOutDate(checkOutDate);
-        searchPage.clickSearch();
+        homePage().goToSearchPage();
+        searchPage().enterSearchQuery(roomType);
+        searchPage().selectCheckInDate(checkInDate);
+        searchPage().selectCheckOutDate(checkOutDate);
+        searchPage().clickSearch();
     }
 
     @Step("Search with filters")
     public SearchPage searchWithFilters(String query, String filter, String minPrice, String maxPrice) {
-        homePage.goToSearchPage();
-        searchPage.enterSearchQuery(query);
-        searchPage.filterBy(filter);
-        searchPage.setPriceRange(minPrice, maxPrice);
-        searchPage.applyFilters();
-        return searchPage.clickSearch();
+        homePage().goToSearchPage();
+        searchPage().enterSearchQuery(query);
+        searchPage().filterBy(filter);
+        searchPage().setPriceRange(minPrice, maxPrice);
+        searchPage().applyFilters();
+        return searchPage().clickSearch();
+    }
+
+    /**
+     * Same as {@link #searchWithFilters}, but restores the resulting browser state from a
+     * snapshot when an earlier test already ran this search on the current app version.
+     */
+    @Step("Search with filters (restored from snapshot when available)")
+    public SearchPage searchWithFiltersCached(String query, String filter, String minPrice, String maxPrice) {
+        String snapshot = "search:" + query + "|" + filter + "|" + minPrice + "|" + maxPrice;
+        BrowserStateStore.restoreOrCapture(driver, snapshot,
+                d -> searchWithFilters(query, filter, minPrice, maxPrice));
+        return searchPage();
     }
 
     @Step("Quick search from home page")
     public SearchPage quickSearch(String query) {
-        return homePage.search(query);
+        return homePage().search(query);
     }
 
     @Step("Select first available result")
     public void selectFirstResult() {
-        searchPage.clickResultAtIndex(0);
+        searchPage().clickResultAtIndex(0);
     }
 
     @Step("Verify search results exist")
     public boolean hasSearchResults() {
-        return searchPage.getResultsCount() > 0;
+        return searchPage().getResultsCount() > 0;
     }
 
     public int getResultsCount() {
-        return searchPage.getResultsCount();
+        return searchPage().getResultsCount();
     }
 }
@@ -1,5 +1,6 @@
 package flows;
 
+import core.LoginStats;
 import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import pages.HomePage;
@@ -7,44 +8,55 @@ import pages.LoginPage;
 
 public class LoginFlow {
 
-    private final LoginPage loginPage;
+    private final WebDriver driver;
+    private LoginPage loginPage;
 
     public LoginFlow(WebDriver driver) {
-        this.loginPage = new LoginPage(driver);
+        this.driver = driver;
+    }
+
+    private LoginPage loginPage() {
+        if (loginPage == null) {
+            loginPage = new LoginPage(driver);
+        }
+        return loginPage;
     }
 
     @Step("Perform login with username: {username}")
     public HomePage loginAs(String username, String password) {
-        return loginPage.login(username, password);
+        long start = System.nanoTime();
+        HomePage homePage = loginPage().login(username, password);
+        LoginStats.recordUiLogin(System.nanoTime() - start);
+        return homePage;
     }
 
     @Step("Perform login with remember me option")
     public HomePage loginWithRememberMe(String username, String password) {
-        loginPage.enterUsername(username);
-        loginPage.enterPassword(password);
-        loginPage.checkRememberMe();
-        return loginPage.clickLogin();
+        loginPage().enterUsername(username);
+        loginPage().enterPassword(password);
+        loginPage().checkRememberMe();
+        return loginPage().clickLogin();
     }
 
     @Step("Attempt invalid login")
     public LoginPage attemptInvalidLogin(String username, String password) {
-        loginPage.enterUsername(username);
-        loginPage.enterPassword(password);
-        loginPage.clickLogin();
-        return loginPage;
+        loginPage().enterUsername(username);
+        loginPage().enterPassword(password);
+        loginPage().clickLogin();
+        return loginPage();
     }
 
     @Step("Verify login error message")
     public boolean verifyErrorMessage(String expectedMessage) {
-        return loginPage.getErrorMessage().contains(expectedMessage);
+        return loginPage().getErrorMessage().contains(expectedMessage);
     }
 
     @Step("Navigate to forgot password")
     public void goToForgotPassword() {
-        loginPage.clickForgotPassword();
+        loginPage().clickForgotPassword();
     }
 
     public boolean isLoginPageDisplayed() {
-        return loginPage.isPageLoaded();
+        return loginPage().isPageLoaded();
     }
 }
@@ -1,19 +1,41 @@
 package pages;
 
+import config.Config;
 import core.ActionsEx;
+import core.CacheElements;
+import core.ElementCache;
+import core.InteractionContext;
+import core.PageSnapshot;
 import core.Waits;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.Map;
+
 public abstract class BasePage {
 
     protected WebDriver driver;
+    protected InteractionContext context;
     protected ActionsEx actions;
     protected Waits waits;
+    private PageSnapshot snapshot;
 
     public BasePage(WebDriver driver) {
-        this.driver = driver;
-        this.actions = new ActionsEx(driver);
-        this.waits = new Waits(driver);
+        this(InteractionContext.forDriver(driver));
+    }
+
+    public BasePage(InteractionContext context) {
+        this.driver = context.getDriver();
+        this.context = context;
+        this.actions = cachingEnabled()
+                ? context.getActions().withCache(new ElementCache(getClass().getSimpleName()))
+                : context.getActions();
+        this.waits = context.getWaits();
+    }
+
+    private boolean cachingEnabled() {
+        return getClass().isAnnotationPresent(CacheElements.class)
+                && Config.getBooleanProperty("element.cache.enabled", true);
     }
 
     public abstract boolean isPageLoaded();
@@ -27,10 +49,65 @@ public abstract class BasePage {
     }
 
     public void navigateTo(String url) {
+        actions.markNavigated();
         driver.get(url);
     }
 
     public void refreshPage() {
+        actions.markNavigated();
         driver.navigate().refresh();
     }
+
+    /**
+     * Gets a snapshot of the page's declared elements, captured in one command.
+     * The snapshot is reused until an action changes the page, then captured again.
+     *
+     * @return Current page snapshot
+     */
+    public PageSnapshot snapshot() {
+        if (snapshot == null || !snapshot.isCurrent()) {
+            snapshot = actions.snapshot(snapshotLocators());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Checks that a declared element is visible, reading the snapshot first and waiting
+     * for the element only when the snapshot does not show it. If the element appears
+     * during the wait, the snapshot is captured again on its next use.
+     *
+     * @param name    Element name in {@link #snapshotLocators()}
+     * @param locator Element locator
+     * @return true if the element is visible now or becomes visible within the timeout
+     */
+    protected boolean isVisibleInSnapshot(String name, By locator) {
+        if (snapshot().isVisible(name)) {
+            return true;
+        }
+        if (!actions.isVisible(locator)) {
+            return false;
+        }
+        actions.markPageChanged();
+        return true;
+    }
+
+    /**
+     * Declares the elements captured by {@link #snapshot()}, by name.
+     *
+     * @return Element name to locator
+     */
+    protected Map<String, By> snapshotLocators() {
+        return Map.of();
+    }
+
+    /**
+     * Waits until the page is ready: document.readyState is complete and,
+     * with page.ready.mode=network-idle, the network has gone quiet.
+     */
+    public void waitForPageReady() {
+        waits.waitForPageLoad();
+        if ("network-idle".equalsIgnoreCase(Config.getProperty("page.ready.mode", "dom"))) {
+            waits.waitForNetworkIdle();
+        }
+    }
 }
@@ -1,10 +1,14 @@
 package pages;
 
+import core.InteractionContext;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import pages.components.HeaderComponent;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class HomePage extends BasePage {
 
     // Locators
@@ -14,19 +18,35 @@ public class HomePage extends BasePage {
     private final By bookNowButton = By.cssSelector(".book-now-btn");
     private final By featuredRooms = By.cssSelector(".featured-rooms .room-card");
 
-    private final HeaderComponent header;
+    private HeaderComponent header;
 
     public HomePage(WebDriver driver) {
         super(driver);
-        this.header = new HeaderComponent(driver);
+    }
+
+    public HomePage(InteractionContext context) {
+        super(context);
+    }
+
+    @Override
+    protected Map<String, By> snapshotLocators() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("welcomeMessage", welcomeMessage);
+        locators.put("searchBox", searchBox);
+        locators.put("bookNowButton", bookNowButton);
+        locators.put("featuredRooms", featuredRooms);
+        return locators;
     }
 
     @Override
     public boolean isPageLoaded() {
-        return actions.isDisplayed(welcomeMessage);
+        return isVisibleInSnapshot("welcomeMessage", welcomeMessage);
     }
 
     public HeaderComponent getHeader() {
+        if (header == null) {
+            header = new HeaderComponent(context);
+        }
         return header;
     }
 
@@ -48,12 +68,12 @@ public class HomePage extends BasePage {
 
     public int getFeaturedRoomsCount() {
         waits.waitForVisible(featuredRooms);
-        return driver.findElements(featuredRooms).size();
+        return actions.count(featuredRooms);
     }
 
     @Step("Navigate to search page")
     public SearchPage goToSearchPage() {
-        header.clickSearch();
+        getHeader().clickSearch();
         return new SearchPage(driver);
     }
 }
@@ -1,9 +1,15 @@
 package pages;
 
+import core.CacheElements;
+import core.InteractionContext;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@CacheElements
 public class LoginPage extends BasePage {
 
     // Locators
@@ -18,9 +24,24 @@ public class LoginPage extends BasePage {
         super(driver);
     }
 
+    public LoginPage(InteractionContext context) {
+        super(context);
+    }
+
+    @Override
+    protected Map<String, By> snapshotLocators() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("usernameInput", usernameInput);
+        locators.put("passwordInput", passwordInput);
+        locators.put("loginButton", loginButton);
+        locators.put("errorMessage", errorMessage);
+        locators.put("rememberMeCheckbox", rememberMeCheckbox);
+        return locators;
+    }
+
     @Override
     public boolean isPageLoaded() {
-        return actions.isDisplayed(usernameInput) && actions.isDisplayed(loginButton);
+        return actions.isVisible(usernameInput) && actions.isVisible(loginButton);
     }
 
     @Step("Enter username: {username}")
@@ -48,6 +69,23 @@ public class LoginPage extends BasePage {
         return clickLogin();
     }
 
+    /**
+     * Fills and submits the login form in one script, for tests that only need to get past it.
+     * Skips the keystrokes and the native click, see {@link core.ActionsEx#fillForm(Map, By)}.
+     *
+     * @param username Username
+     * @param password Password
+     * @return HomePage
+     */
+    @Step("Login by script with credentials: {username}")
+    public HomePage loginByScript(String username, String password) {
+        Map<By, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameInput, username);
+        credentials.put(passwordInput, password);
+        actions.fillForm(credentials, loginButton);
+        return new HomePage(driver);
+    }
+
     @Step("Check remember me")
     public LoginPage checkRememberMe() {
         actions.click(rememberMeCheckbox);
@@ -1,19 +1,24 @@
 package pages;
 
+import core.CacheElements;
+import core.InteractionContext;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import pages.components.DatePickerComponent;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+@CacheElements
 public class SearchPage extends BasePage {
 
     // Locators
     private final By searchInput = By.id("search-query");
     private final By searchButton = By.id("search-submit");
+    private final By resultsContainer = By.cssSelector(".search-results");
     private final By searchResults = By.cssSelector(".search-results .result-item");
     private final By noResultsMessage = By.cssSelector(".no-results");
     private final By filterDropdown = By.id("filter-select");
@@ -25,16 +30,29 @@ public class SearchPage extends BasePage {
     private final By checkOutDateInput = By.id("check-out-date");
     private final By resultsCount = By.cssSelector(".results-count");
 
-    private final DatePickerComponent datePicker;
+    private DatePickerComponent datePicker;
 
     public SearchPage(WebDriver driver) {
         super(driver);
-        this.datePicker = new DatePickerComponent(driver);
+    }
+
+    public SearchPage(InteractionContext context) {
+        super(context);
+    }
+
+    @Override
+    protected Map<String, By> snapshotLocators() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("searchInput", searchInput);
+        locators.put("searchResults", searchResults);
+        locators.put("noResultsMessage", noResultsMessage);
+        locators.put("resultsCount", resultsCount);
+        return locators;
     }
 
     @Override
     public boolean isPageLoaded() {
-        return actions.isDisplayed(searchInput);
+        return isVisibleInSnapshot("searchInput", searchInput);
     }
 
     @Step("Enter search query: {query}")
@@ -58,17 +76,16 @@ public class SearchPage extends BasePage {
 
     public List<String> getSearchResultTitles() {
         waits.waitForVisible(searchResults);
-        return driver.findElements(searchResults).stream()
-                .map(WebElement::getText)
-                .collect(Collectors.toList());
+        return actions.texts(searchResults);
     }
 
     public int getResultsCount() {
-        return driver.findElements(searchResults).size();
+        waits.waitForPresence(resultsContainer);
+        return actions.count(searchResults);
     }
 
     public boolean hasNoResults() {
-        return actions.isDisplayed(noResultsMessage);
+        return snapshot().isVisible("noResultsMessage");
     }
 
     @Step("Filter by: {filterOption}")
@@ -85,8 +102,10 @@ public class SearchPage extends BasePage {
 
     @Step("Set price range: {min} - {max}")
     public SearchPage setPriceRange(String min, String max) {
-        actions.type(priceRangeMin, min);
-        actions.type(priceRangeMax, max);
+        Map<By, String> range = new LinkedHashMap<>();
+        range.put(priceRangeMin, min);
+        range.put(priceRangeMax, max);
+        actions.fillForm(range);
         return this;
     }
 
@@ -99,26 +118,34 @@ public class SearchPage extends BasePage {
     @Step("Select check-in date: {date}")
     public SearchPage selectCheckInDate(String date) {
         actions.click(checkInDateInput);
-        datePicker.selectDate(date);
+        getDatePicker().selectDate(date);
         return this;
     }
 
     @Step("Select check-out date: {date}")
     public SearchPage selectCheckOutDate(String date) {
         actions.click(checkOutDateInput);
-        datePicker.selectDate(date);
+        getDatePicker().selectDate(date);
         return this;
     }
 
+    public DatePickerComponent getDatePicker() {
+        if (datePicker == null) {
+            datePicker = new DatePickerComponent(context);
+        }
+        return datePicker;
+    }
+
     public String getResultsCountText() {
         return actions.getText(resultsCount);
     }
 
     @Step("Click on result at index: {index}")
     public void clickResultAtIndex(int index) {
-        List<WebElement> results = driver.findElements(searchResults);
+        List<WebElement> results = waits.findAll(searchResults);
         if (index < results.size()) {
             results.get(index).click();
+            actions.markPageChanged();
         }
     }
 }
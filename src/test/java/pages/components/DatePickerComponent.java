@@ -1,18 +1,61 @@
 package pages.components;
 
+import config.Config;
 import core.ActionsEx;
+import core.CommandCounter;
+import core.InteractionContext;
+import core.ScriptLocator;
 import core.Waits;
 import io.qameta.allure.Step;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 public class DatePickerComponent {
 
+    private static final Logger logger = LogManager.getLogger(DatePickerComponent.class);
+
+    // Clicks prev/next the given number of times, waiting for the month label to change after each click
+    private static final String SCRIPT_STEP_MONTHS = ScriptLocator.FIND_ALL_FUNCTION
+            + "var buttonUsing = arguments[0], buttonValue = arguments[1],"
+            + "    labelUsing = arguments[2], labelValue = arguments[3],"
+            + "    remaining = arguments[4], stepTimeout = arguments[5],"
+            + "    done = arguments[arguments.length - 1];"
+            + "function label() {"
+            + "  var el = findAll(labelUsing, labelValue)[0];"
+            + "  return el ? (el.innerText || el.textContent || '').trim() : null;"
+            + "}"
+            + "(function step() {"
+            + "  if (remaining === 0) { done(label()); return; }"
+            + "  var before = label(), button = findAll(buttonUsing, buttonValue)[0];"
+            + "  if (!button) { done(null); return; }"
+            + "  var timer, observer = new MutationObserver(function () {"
+            + "    if (label() === before) { return; }"
+            + "    observer.disconnect(); clearTimeout(timer); remaining--; step();"
+            + "  });"
+            + "  observer.observe(document.body, { childList: true, subtree: true, characterData: true });"
+            + "  timer = setTimeout(function () { observer.disconnect(); done(null); }, stepTimeout);"
+            + "  button.click();"
+            + "})();";
+
+    // Returns the first element matching the locator whose trimmed text equals the day
+    private static final String SCRIPT_FIND_DAY = ScriptLocator.FIND_ALL_FUNCTION
+            + "var days = findAll(arguments[0], arguments[1]);"
+            + "for (var i = 0; i < days.length; i++) {"
+            + "  if ((days[i].innerText || days[i].textContent || '').trim() === arguments[2]) { return days[i]; }"
+            + "}"
+            + "return null;";
+
     private final WebDriver driver;
     private final ActionsEx actions;
     private final Waits waits;
@@ -26,39 +69,97 @@ public class DatePickerComponent {
     private final By todayButton = By.cssSelector(".datepicker-today");
     private final By clearButton = By.cssSelector(".datepicker-clear");
 
+    private long lastSelectCommands;
+
     public DatePickerComponent(WebDriver driver) {
-        this.driver = driver;
-        this.actions = new ActionsEx(driver);
-        this.waits = new Waits(driver);
+        this(InteractionContext.forDriver(driver));
+    }
+
+    public DatePickerComponent(InteractionContext context) {
+        this.driver = context.getDriver();
+        this.actions = context.getActions();
+        this.waits = context.getWaits();
     }
 
     @Step("Select date: {dateString}")
     public void selectDate(String dateString) {
+        long start = CommandCounter.current();
         LocalDate date = LocalDate.parse(dateString, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
         navigateToMonth(date);
         selectDay(date.getDayOfMonth());
+        lastSelectCommands = CommandCounter.current() - start;
+        if (CommandCounter.isEnabled()) {
+            logger.info("Selected date {} with {} WebDriver commands", dateString, lastSelectCommands);
+        } else {
+            logger.info("Selected date {} (command counting is off)", dateString);
+        }
+    }
+
+    /**
+     * Gets the number of WebDriver commands the last {@link #selectDate(String)} issued.
+     * Requires driver.command.counting; otherwise always 0.
+     *
+     * @return Command count
+     */
+    public long getLastSelectCommandCount() {
+        return lastSelectCommands;
     }
 
     @Step("Navigate to month containing date")
     private void navigateToMonth(LocalDate targetDate) {
         waits.waitForVisible(datePickerContainer);
-        String currentMonthYear = actions.getText(monthYearDisplay);
+        LocalDate currentMonth = parseMonthYear(actions.getText(monthYearDisplay));
+        long months = ChronoUnit.MONTHS.between(currentMonth, targetDate.withDayOfMonth(1));
+        if (months == 0) {
+            return;
+        }
+
+        By button = months < 0 ? prevMonthButton : nextMonthButton;
+        int steps = (int) Math.abs(months);
+        String label;
+        if (ScriptLocator.supports(button) && ScriptLocator.supports(monthYearDisplay)) {
+            label = stepMonthsInPage(button, steps);
+        } else {
+            label = stepMonths(button, steps);
+        }
+
         String targetMonthYear = targetDate.format(DateTimeFormatter.ofPattern("MMMM yyyy"));
+        if (!targetMonthYear.equalsIgnoreCase(label)) {
+            throw new RuntimeException("Date picker shows " + label + " instead of " + targetMonthYear);
+        }
+    }
 
-        int maxAttempts = 24;
-        int attempts = 0;
+    /**
+     * Steps through the months in one async script. Each step gets an equal share of the
+     * script timeout, less a second of headroom, so the whole script always ends before
+     * the driver gives up on it.
+     */
+    private String stepMonthsInPage(By button, int steps) {
+        long budget = Math.max(steps, Config.getIntProperty("script.timeout", 30) * 1000L - 1000L);
+        long stepTimeout = Math.min(waits.getDefaultTimeout() * 1000L, budget / steps);
+        Object label = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT_STEP_MONTHS,
+                ScriptLocator.using(button), ScriptLocator.value(button),
+                ScriptLocator.using(monthYearDisplay), ScriptLocator.value(monthYearDisplay),
+                steps, stepTimeout);
+        actions.markPageChanged();
+        if (label == null) {
+            throw new TimeoutException("Month label did not change within " + stepTimeout
+                    + " ms while moving " + steps + " months");
+        }
+        return label.toString();
+    }
 
-        while (!currentMonthYear.equalsIgnoreCase(targetMonthYear) && attempts < maxAttempts) {
-            LocalDate currentDate = parseMonthYear(currentMonthYear);
-            if (targetDate.isBefore(currentDate)) {
-                actions.click(prevMonthButton);
-            } else {
-                actions.click(nextMonthButton);
-            }
-            waits.sleep(300);
-            currentMonthYear = actions.getText(monthYearDisplay);
-            attempts++;
+    /**
+     * Steps through the months with one click and one label wait per step, for locators
+     * the in-page script cannot resolve.
+     */
+    private String stepMonths(By button, int steps) {
+        for (int i = 0; i < steps; i++) {
+            String before = actions.getText(monthYearDisplay);
+            actions.click(button);
+            waits.fluentWait(d -> !before.equals(actions.getText(monthYearDisplay)));
         }
+        return actions.getText(monthYearDisplay);
     }
 
     private LocalDate parseMonthYear(String monthYear) {
@@ -67,14 +168,23 @@ public class DatePickerComponent {
 
     @Step("Select day: {day}")
     private void selectDay(int day) {
-        List<WebElement> days = driver.findElements(dayButtons);
-        for (WebElement dayElement : days) {
-            if (dayElement.getText().equals(String.valueOf(day))) {
-                dayElement.click();
-                return;
+        Object dayElement = null;
+        if (ScriptLocator.supports(dayButtons)) {
+            dayElement = ((JavascriptExecutor) driver).executeScript(SCRIPT_FIND_DAY,
+                    ScriptLocator.using(dayButtons), ScriptLocator.value(dayButtons), String.valueOf(day));
+        } else {
+            for (WebElement candidate : waits.findAll(dayButtons)) {
+                if (candidate.getText().trim().equals(String.valueOf(day))) {
+                    dayElement = candidate;
+                    break;
+                }
             }
         }
-        throw new RuntimeException("Day " + day + " not found in date picker");
+        if (!(dayElement instanceof WebElement)) {
+            throw new RuntimeException("Day " + day + " not found in date picker");
+        }
+        ((WebElement) dayElement).click();
+        actions.markPageChanged();
     }
 
     @Step("Click today button")
@@ -97,6 +207,14 @@ public class DatePickerComponent {
         actions.click(nextMonthButton);
     }
 
+    public List<Integer> getAvailableDays() {
+        List<Integer> days = new ArrayList<>();
+        for (String day : actions.texts(dayButtons)) {
+            days.add(Integer.parseInt(day));
+        }
+        return days;
+    }
+
     public String getCurrentMonthYear() {
         return actions.getText(monthYearDisplay);
     }
@@ -1,6 +1,7 @@
 package pages.components;
 
 import core.ActionsEx;
+import core.InteractionContext;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -21,7 +22,11 @@ public class HeaderComponent {
     private final By userNameDisplay = By.cssSelector(".user-name");
 
     public HeaderComponent(WebDriver driver) {
-        this.actions = new ActionsEx(driver);
+        this(InteractionContext.forDriver(driver));
+    }
+
+    public HeaderComponent(InteractionContext context) {
+        this.actions = context.getActions();
     }
 
     @Step("Click on logo")
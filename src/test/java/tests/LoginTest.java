@@ -1,6 +1,7 @@
 package tests;
 
 import base.BaseTest;
+import core.PageSnapshot;
 import data.TestData;
 import flows.LoginFlow;
 import io.qameta.allure.*;
@@ -33,8 +34,10 @@ public class LoginTest extends BaseTest {
         HomePage homePage = loginFlow.loginAs(username, password);
 
         Assert.assertTrue(homePage.isPageLoaded(), "Home page should be loaded after login");
-        Assert.assertTrue(homePage.getWelcomeMessage().contains(username), 
-            "Welcome message should contain username");
+        PageSnapshot page = homePage.snapshot();
+        String welcome = page.getText("welcomeMessage");
+        Assert.assertNotNull(welcome, "Welcome message should be present");
+        Assert.assertTrue(welcome.contains(username), "Welcome message should contain username");
     }
 
     @Test(description = "Verify login fails with invalid credentials")
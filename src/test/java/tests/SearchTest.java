@@ -1,6 +1,8 @@
 package tests;
 
 import base.BaseTest;
+import base.LoggedIn;
+import config.Config;
 import flows.BookingFlow;
 import io.qameta.allure.*;
 import org.testng.Assert;
@@ -10,6 +12,7 @@ import pages.SearchPage;
 
 @Epic("Booking")
 @Feature("Search")
+@LoggedIn
 public class SearchTest extends BaseTest {
 
     private BookingFlow bookingFlow;
@@ -33,11 +36,26 @@ public class SearchTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     @Story("Search Filters")
     public void testSearchWithFilters() {
-        SearchPage results = bookingFlow.searchWithFilters("Room", "Available", "100", "500");
+        // Restored from a snapshot when another test already ran this search
+        SearchPage results = bookingFlow.searchWithFiltersCached("Room", "Available", "100", "500");
 
         Assert.assertTrue(results.isPageLoaded(), "Search page should be loaded");
     }
 
+    @Test(description = "Verify a filtered search restored from a snapshot shows the same page")
+    @Severity(SeverityLevel.MINOR)
+    @Story("Search Filters")
+    public void testSearchWithFiltersRestored() {
+        bookingFlow.searchWithFiltersCached("Room", "Available", "150", "400");
+        String searchedUrl = driver.getCurrentUrl();
+
+        driver.get(Config.getProperty("base.url"));
+        SearchPage restored = bookingFlow.searchWithFiltersCached("Room", "Available", "150", "400");
+
+        Assert.assertTrue(restored.isPageLoaded(), "Restored search page should be loaded");
+        Assert.assertEquals(driver.getCurrentUrl(), searchedUrl, "Restored search should open the searched URL");
+    }
+
     @Test(description = "Verify no results message for invalid search")
     @Severity(SeverityLevel.NORMAL)
     @Story("No Results")
@@ -0,0 +1,93 @@
+package tests.api;
+
+import api.ApiClient;
+import api.stub.StubServer;
+import config.Config;
+import data.Booking;
+import data.DataRows;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+@Epic("API")
+@Feature("Booking API")
+public class ApiBookingDataDrivenTest {
+
+    private ApiClient apiClient;
+    private StubServer stubServer;
+
+    @BeforeClass
+    public void setup() {
+        // data.base.url runs the rows against a real service; otherwise the in-memory booking stub
+        String baseUri = Config.getProperty("data.base.url", "");
+        if (baseUri.isEmpty()) {
+            stubServer = StubServer.bookings().start();
+            baseUri = stubServer.getBaseUri();
+        }
+        apiClient = new ApiClient(baseUri);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (stubServer != null) {
+            stubServer.stop();
+        }
+    }
+
+    @DataProvider(name = "bookings", parallel = true)
+    public Iterator<Object[]> bookings() {
+        return DataRows.jsonLines(Config.getProperty("data.bookings.file",
+                        "src/test/resources/testdata/booking-scenarios.jsonl"), Booking.class)
+                .fromConfig()
+                .filter(booking -> booking.getCheckOutDate().isAfter(booking.getCheckInDate()))
+                .asParameters();
+    }
+
+    @DataProvider(name = "bookingForms", parallel = true)
+    public Iterator<Object[]> bookingForms() {
+        return DataRows.csv(Config.getProperty("data.booking.forms.file",
+                        "src/test/resources/testdata/booking-scenarios.csv"))
+                .fromConfig()
+                .asParameters();
+    }
+
+    @Test(dataProvider = "bookings", description = "Verify POST creates each booking from the data set")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Create Booking")
+    public void testCreateBookingFromData(Booking booking) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("firstName", booking.getFirstName());
+        body.put("lastName", booking.getLastName());
+        body.put("email", booking.getEmail());
+        body.put("roomType", booking.getRoomType());
+        body.put("checkInDate", booking.getCheckInDate().toString());
+        body.put("checkOutDate", booking.getCheckOutDate().toString());
+        body.put("guests", booking.getGuests());
+
+        Response response = apiClient.post("/bookings", body);
+
+        Assert.assertEquals(response.getStatusCode(), 201, "Status code should be 201");
+        Assert.assertEquals(response.jsonPath().getString("lastName"), booking.getLastName(), "Last name should match");
+        Assert.assertEquals(response.jsonPath().getString("checkInDate"), booking.getCheckInDate().toString(),
+                "Check-in date should match");
+    }
+
+    @Test(dataProvider = "bookingForms", description = "Verify POST accepts each booking form from the CSV set")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Create Booking")
+    public void testCreateBookingFromForm(Map<String, String> form) {
+        Response response = apiClient.post("/bookings", form);
+
+        Assert.assertEquals(response.getStatusCode(), 201, "Status code should be 201");
+        Assert.assertEquals(response.jsonPath().getString("firstName"), form.get("firstName"), "First name should match");
+        Assert.assertEquals(response.jsonPath().getString("note"), form.get("note"), "Note should match");
+    }
+}
@@ -1,9 +1,11 @@
 package tests.api;
 
 import api.ApiClient;
+import api.stub.StubServer;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -15,10 +17,20 @@ import java.util.Map;
 public class ApiBookingTest {
 
     private ApiClient apiClient;
+    private StubServer stubServer;
 
     @BeforeClass
     public void setup() {
-        apiClient = new ApiClient();
+        // stub.mode=record|replay points the tests at the embedded stub server
+        stubServer = StubServer.fromConfig().orElse(null);
+        apiClient = stubServer != null ? new ApiClient(stubServer.getBaseUri()) : new ApiClient();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (stubServer != null) {
+            stubServer.stop();
+        }
     }
 
     @Test(description = "Verify GET all bookings returns 200")
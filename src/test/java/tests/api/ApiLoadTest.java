@@ -0,0 +1,68 @@
+package tests.api;
+
+import api.ApiClient;
+import api.load.BookingScenarios;
+import api.load.LoadReport;
+import api.load.LoadRunner;
+import api.stub.StubServer;
+import config.Config;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+@Epic("API")
+@Feature("Booking API Load")
+public class ApiLoadTest {
+
+    private StubServer stubServer;
+    private LoadRunner runner;
+    private Duration duration;
+    private double maxErrorRate;
+
+    @BeforeClass
+    public void setup() {
+        Config.loadConfig();
+        String baseUri = Config.getProperty("load.base.url", "");
+        if (baseUri.isEmpty()) {
+            stubServer = StubServer.bookings().start();
+            baseUri = stubServer.getBaseUri();
+        }
+        runner = new LoadRunner(new ApiClient(baseUri, false), BookingScenarios.mix());
+        duration = Duration.ofSeconds(Config.getIntProperty("load.duration.seconds", 5));
+        maxErrorRate = Double.parseDouble(Config.getProperty("load.max.error.rate", "0.01"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (stubServer != null) {
+            stubServer.stop();
+        }
+    }
+
+    @Test(description = "Booking API sustains the target request rate")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Open Load Model")
+    public void testOpenModel() {
+        LoadReport report = runner.runOpen(Config.getIntProperty("load.rate", 50), duration);
+
+        Assert.assertTrue(report.getRequests() > 0, "Load run should complete requests");
+        Assert.assertEquals(report.getUnfinished(), 0, "All scheduled requests should finish");
+        Assert.assertTrue(report.getErrorRate() <= maxErrorRate, "Error rate too high: " + report);
+    }
+
+    @Test(description = "Booking API serves concurrent virtual users")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Closed Load Model")
+    public void testClosedModel() {
+        LoadReport report = runner.runClosed(Config.getIntProperty("load.users", 8),
+                Duration.ofMillis(Config.getIntProperty("load.pacing.ms", 100)), duration);
+
+        Assert.assertTrue(report.getRequests() > 0, "Load run should complete requests");
+        Assert.assertEquals(report.getUnfinished(), 0, "Every user should finish its last request");
+        Assert.assertTrue(report.getErrorRate() <= maxErrorRate, "Error rate too high: " + report);
+    }
+}
@@ -0,0 +1,181 @@
+package tests.api;
+
+import api.ApiResponse;
+import api.AsyncApiClient;
+import api.stub.StubServer;
+import config.Config;
+import io.qameta.allure.*;
+import io.qameta.allure.model.Attachment;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Epic("API")
+@Feature("Async API Client")
+public class AsyncApiClientTest {
+
+    private static final int TIMEOUT_SECONDS = 30;
+
+    private StubServer stubServer;
+    private AsyncApiClient client;
+
+    @BeforeClass
+    public void setup() {
+        Config.loadConfig();
+        // Random reply delays make the calls complete out of order
+        stubServer = StubServer.bookings().withLatency(Duration.ofMillis(5), Duration.ofMillis(40)).start();
+        client = new AsyncApiClient(stubServer.getBaseUri());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (stubServer != null) {
+            stubServer.stop();
+        }
+    }
+
+    @Test(description = "fanOut returns the results in call order")
+    @Story("Fan-out")
+    public void testResultOrder() throws Exception {
+        List<Supplier<CompletableFuture<ApiResponse>>> calls = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            int id = i % 3 + 1;
+            calls.add(() -> client.getAsync("/bookings/" + id));
+        }
+
+        List<ApiResponse> results = client.fanOut(calls, 4).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertEquals(results.size(), calls.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(results.get(i).jsonPath().getInt("id"), i % 3 + 1, "Result " + i + " out of order");
+        }
+    }
+
+    @Test(description = "fanOut never has more than maxConcurrency calls in flight")
+    @Story("Fan-out")
+    public void testMaxConcurrency() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Supplier<CompletableFuture<ApiResponse>>> calls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            calls.add(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return client.getAsync("/bookings").whenComplete((response, error) -> inFlight.decrementAndGet());
+            });
+        }
+
+        List<ApiResponse> results = client.fanOut(calls, 3).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertEquals(results.size(), calls.size());
+        Assert.assertTrue(maxInFlight.get() <= 3, "Calls in flight exceeded the limit: " + maxInFlight.get());
+        Assert.assertEquals(inFlight.get(), 0);
+    }
+
+    @Test(description = "fanOut runs every call and fails with the first failure, the others suppressed")
+    @Story("Fan-out")
+    public void testFailures() {
+        AtomicInteger started = new AtomicInteger();
+        List<Supplier<CompletableFuture<ApiResponse>>> calls = new ArrayList<>();
+        for (String id : List.of("1", "998", "2", "999", "3")) {
+            calls.add(() -> {
+                started.incrementAndGet();
+                return client.getAsync("/bookings/" + id).thenApply(response -> {
+                    if (response.getStatusCode() != 200) {
+                        throw new IllegalStateException("missing " + id);
+                    }
+                    return response;
+                });
+            });
+        }
+
+        CompletionException error = Assert.expectThrows(CompletionException.class,
+                () -> client.fanOut(calls, 2).orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS).join());
+
+        Assert.assertEquals(started.get(), calls.size(), "Every call should run despite the failures");
+        Set<String> messages = new HashSet<>();
+        messages.add(rootCause(error).getMessage());
+        for (Throwable suppressed : error.getSuppressed()) {
+            messages.add(rootCause(suppressed).getMessage());
+        }
+        Assert.assertEquals(error.getSuppressed().length, 1, "The second failure should be suppressed");
+        Assert.assertEquals(messages, Set.of("missing 998", "missing 999"));
+    }
+
+    @Test(description = "fanOut handles suppliers that throw without nesting a stack frame per call")
+    @Story("Fan-out")
+    public void testThrowingSuppliers() throws Exception {
+        int count = 10_000;
+        List<Supplier<CompletableFuture<ApiResponse>>> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            calls.add(() -> {
+                throw new IllegalArgumentException("call " + index);
+            });
+        }
+        calls.add(() -> client.getAsync("/bookings/1"));
+
+        ExecutionException error = Assert.expectThrows(ExecutionException.class,
+                () -> client.fanOut(calls, 1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        Assert.assertTrue(error.getCause() instanceof IllegalArgumentException, "Unexpected failure: " + error.getCause());
+        Assert.assertEquals(error.getCause().getMessage(), "call 0", "The first failure should be reported");
+        Assert.assertEquals(error.getCause().getSuppressed().length, count - 1);
+    }
+
+    @Test(description = "fanOut rejects a concurrency limit below one")
+    @Story("Fan-out")
+    public void testInvalidConcurrency() {
+        List<Supplier<CompletableFuture<ApiResponse>>> calls = List.of(() -> client.getAsync("/bookings"));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> client.fanOut(calls, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> client.fanOut(calls, -1));
+    }
+
+    @Test(description = "Requests started by fanOut are attached to the calling test")
+    @Story("Reporting")
+    public void testAttachmentsOnCallingTest() throws Exception {
+        String testCase = Allure.getLifecycle().getCurrentTestCase()
+                .orElseThrow(() -> new SkipException("Allure is not recording this run"));
+        List<Supplier<CompletableFuture<ApiResponse>>> calls = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            int id = i % 3 + 1;
+            calls.add(() -> client.getAsync("/bookings/" + id));
+        }
+
+        // One call at a time, so every call after the first starts on an HTTP client thread
+        client.fanOut(calls, 1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        List<String> names = new ArrayList<>();
+        Allure.getLifecycle().updateTestCase(testCase, result -> {
+            for (Attachment attachment : result.getAttachments()) {
+                names.add(attachment.getName());
+            }
+        });
+        Assert.assertEquals(names.stream().filter(name -> name.startsWith("Request GET")).count(), 4,
+                "Every request should be attached: " + names);
+        Assert.assertEquals(names.stream().filter(name -> name.startsWith("Response GET")).count(), 4,
+                "Every response should be attached: " + names);
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,133 @@
+package tests.api;
+
+import api.AuthService;
+import api.AuthSession;
+import api.stub.StubServer;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import config.Config;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("API")
+@Feature("API Login")
+public class AuthServiceTest {
+
+    private static final int SHORT_SESSION_SECONDS = 2;
+
+    private final Map<String, AtomicInteger> logins = new ConcurrentHashMap<>();
+    private StubServer stubServer;
+
+    @BeforeClass
+    public void setup() {
+        Config.loadConfig();
+        // Slow logins, so concurrent requests for one user overlap
+        stubServer = StubServer.bookings().withLatency(Duration.ofMillis(200), Duration.ZERO);
+        stubServer.route("POST", "/auth/login", (path, body) -> {
+            String username = JsonParser.parseString(body).getAsJsonObject().get("username").getAsString();
+            int count = logins.computeIfAbsent(username, user -> new AtomicInteger()).incrementAndGet();
+            JsonObject reply = new JsonObject();
+            reply.addProperty("token", username + "-" + count);
+            if (username.startsWith("short")) {
+                reply.addProperty("expiresIn", SHORT_SESSION_SECONDS);
+            }
+            return new StubServer.Reply(200, reply.toString());
+        }).start();
+        System.setProperty("auth.base.url", stubServer.getBaseUri());
+        System.setProperty("auth.login.endpoint", "/auth/login");
+        System.setProperty("auth.session.refresh.margin.seconds", "1");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty("auth.base.url");
+        System.clearProperty("auth.login.endpoint");
+        System.clearProperty("auth.session.refresh.margin.seconds");
+        if (stubServer != null) {
+            stubServer.stop();
+        }
+    }
+
+    @Test(description = "A cached session is reused until it is about to expire, then refreshed")
+    @Story("Session Cache")
+    public void testSessionExpiry() throws InterruptedException {
+        AuthService.invalidate("short-lived");
+
+        AuthSession first = AuthService.getSession("short-lived", "secret");
+        Assert.assertSame(AuthService.getSession("short-lived", "secret"), first, "A valid session should be reused");
+        Assert.assertEquals(logins.get("short-lived").get(), 1);
+
+        // The API grants 2 s and sessions are refreshed 1 s before they expire
+        Thread.sleep(TimeUnit.SECONDS.toMillis(SHORT_SESSION_SECONDS - 1) + 200);
+        AuthSession second = AuthService.getSession("short-lived", "secret");
+
+        Assert.assertNotSame(second, first, "An expiring session should be replaced");
+        Assert.assertEquals(second.getToken(), "short-lived-2");
+        Assert.assertEquals(logins.get("short-lived").get(), 2);
+    }
+
+    @Test(description = "Concurrent tests needing the same user share one login")
+    @Story("Session Cache")
+    public void testConcurrentRefresh() throws Exception {
+        AuthService.invalidate("shared");
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<AuthSession>> sessions = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                sessions.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return AuthService.getSession("shared", "secret");
+                }));
+            }
+            ready.await();
+            go.countDown();
+
+            AuthSession first = sessions.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<AuthSession> session : sessions) {
+                Assert.assertSame(session.get(30, TimeUnit.SECONDS), first, "Every thread should get the same session");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(logins.get("shared").get(), 1, "Only one login should reach the API");
+    }
+
+    @Test(description = "Sessions are cached per user and can be invalidated")
+    @Story("Session Cache")
+    public void testPerUserCacheAndInvalidate() {
+        AuthService.invalidate("erin");
+        AuthService.invalidate("frank");
+
+        AuthSession erin = AuthService.getSession("erin", "secret");
+        AuthSession frank = AuthService.getSession("frank", "secret");
+        Assert.assertEquals(erin.getToken(), "erin-" + logins.get("erin").get());
+        Assert.assertEquals(frank.getUsername(), "frank");
+        Assert.assertEquals(erin.getLocalStorage().get(Config.getProperty("auth.storage.token.key", "authToken")),
+                erin.getToken(), "The token should be stored for the browser");
+
+        AuthService.invalidate("erin");
+        AuthSession renewed = AuthService.getSession("erin", "secret");
+
+        Assert.assertNotSame(renewed, erin, "An invalidated session should be replaced");
+        Assert.assertSame(AuthService.getSession("frank", "secret"), frank, "Other users should keep their session");
+    }
+}
@@ -0,0 +1,151 @@
+package tests.benchmark;
+
+import base.DriverFactory;
+import config.Config;
+import core.ActionsEx;
+import core.CommandCounter;
+import core.InteractionContext;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares reading a collection element by element with the one-command bulk reads in ActionsEx.
+ * Runs against a generated data: URL page, so no application under test is needed.
+ */
+@Epic("Framework")
+@Feature("Benchmarks")
+public class BulkReadBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(BulkReadBenchmark.class);
+    private static final By items = By.cssSelector("#results .result-item");
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 5;
+
+    private WebDriver driver;
+    private ActionsEx actions;
+    private int itemCount;
+
+    @BeforeClass
+    public void setUp() {
+        Config.loadConfig();
+        // The comparison is in WebDriver commands, which are only counted on decorated sessions
+        System.setProperty("driver.command.counting", "true");
+        itemCount = Config.getIntProperty("benchmark.items", 100);
+        driver = DriverFactory.createDriver();
+        actions = new ActionsEx(driver);
+        driver.get(resultsPage(itemCount));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            InteractionContext.release(driver);
+            driver.quit();
+        }
+        DriverFactory.removeDriver();
+        DriverFactory.shutdown();
+    }
+
+    @Test(description = "Bulk text read versus per-element getText")
+    public void benchmarkTexts() {
+        Result perElement = measure(() -> {
+            List<String> texts = new ArrayList<>();
+            for (WebElement element : driver.findElements(items)) {
+                texts.add(element.getText());
+            }
+            return texts;
+        });
+        Result bulk = measure(() -> actions.texts(items));
+
+        report("texts", perElement, bulk);
+        Assert.assertEquals(bulk.value, perElement.value, "Bulk read should return the same texts");
+        Assert.assertEquals(((List<?>) bulk.value).size(), itemCount);
+    }
+
+    @Test(description = "Bulk attribute read versus per-element getAttribute")
+    public void benchmarkAttributes() {
+        Result perElement = measure(() -> {
+            List<String> ids = new ArrayList<>();
+            for (WebElement element : driver.findElements(items)) {
+                ids.add(element.getAttribute("data-id"));
+            }
+            return ids;
+        });
+        Result bulk = measure(() -> actions.attributes(items, "data-id"));
+
+        report("attributes", perElement, bulk);
+        Assert.assertEquals(bulk.value, perElement.value, "Bulk read should return the same attributes");
+    }
+
+    @Test(description = "Scripted count versus findElements size")
+    public void benchmarkCount() {
+        Result perElement = measure(() -> driver.findElements(items).size());
+        Result bulk = measure(() -> actions.count(items));
+
+        report("count", perElement, bulk);
+        Assert.assertEquals(bulk.value, perElement.value, "Scripted count should match findElements");
+    }
+
+    private Result measure(Supplier<Object> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        Object value = null;
+        long commands = CommandCounter.current();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            value = read.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(value, (CommandCounter.current() - commands) / ITERATIONS,
+                elapsed / ITERATIONS / 1_000_000.0);
+    }
+
+    private void report(String name, Result perElement, Result bulk) {
+        String summary = String.format("%s over %d elements: per-element %d commands / %.1f ms, "
+                        + "bulk %d commands / %.1f ms",
+                name, itemCount, perElement.commands, perElement.millis, bulk.commands, bulk.millis);
+        logger.info(summary);
+        Allure.addAttachment("Benchmark: " + name, summary);
+    }
+
+    private static String resultsPage(int count) {
+        StringBuilder html = new StringBuilder("<html><body><ul id='results'>");
+        for (int i = 0; i < count; i++) {
+            html.append("<li class='result-item' data-id='room-").append(i).append("'>Room ").append(i)
+                    .append(" <span>sleeps ").append(i % 4 + 1).append("</span></li>");
+        }
+        html.append("</ul></body></html>");
+        return "data:text/html;charset=utf-8," + URLEncoder.encode(html.toString(), StandardCharsets.UTF_8)
+                .replace("+", "%20");
+    }
+
+    private static final class Result {
+
+        private final Object value;
+        private final long commands;
+        private final double millis;
+
+        private Result(Object value, long commands, double millis) {
+            this.value = value;
+            this.commands = commands;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package tests.benchmark;
+
+import base.DriverFactory;
+import config.Config;
+import core.ActionsEx;
+import core.CommandCounter;
+import core.InteractionContext;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares filling a form field by field (wait, clear, sendKeys) with the one-command ActionsEx.fillForm.
+ * Runs against a generated data: URL page, so no application under test is needed.
+ */
+@Epic("Framework")
+@Feature("Benchmarks")
+public class FormFillBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(FormFillBenchmark.class);
+    private static final int FIELDS = 6;
+    private static final By echo = By.cssSelector(".echo");
+
+    private WebDriver driver;
+    private ActionsEx actions;
+
+    @BeforeClass
+    public void setUp() {
+        Config.loadConfig();
+        // The comparison is in WebDriver commands, which are only counted on decorated sessions
+        System.setProperty("driver.command.counting", "true");
+        driver = DriverFactory.createDriver();
+        actions = new ActionsEx(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            InteractionContext.release(driver);
+            driver.quit();
+        }
+        DriverFactory.removeDriver();
+        DriverFactory.shutdown();
+    }
+
+    @Test(description = "fillForm versus typing each field")
+    public void benchmarkFillForm() {
+        Map<By, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < FIELDS; i++) {
+            values.put(By.id("field-" + i), "value " + i);
+        }
+
+        driver.get(formPage());
+        long commands = CommandCounter.current();
+        long start = System.nanoTime();
+        values.forEach(actions::type);
+        long typedMillis = (System.nanoTime() - start) / 1_000_000L;
+        long typedCommands = CommandCounter.current() - commands;
+        List<String> typed = actions.texts(echo);
+
+        driver.get(formPage());
+        commands = CommandCounter.current();
+        start = System.nanoTime();
+        actions.fillForm(values);
+        long filledMillis = (System.nanoTime() - start) / 1_000_000L;
+        long filledCommands = CommandCounter.current() - commands;
+        List<String> filled = actions.texts(echo);
+
+        String summary = String.format("%d fields: typed %d commands / %d ms, fillForm %d commands / %d ms",
+                FIELDS, typedCommands, typedMillis, filledCommands, filledMillis);
+        logger.info(summary);
+        Allure.addAttachment("Benchmark: fillForm", summary);
+        Assert.assertEquals(filled, typed, "Both paths should leave the same values, as seen by input listeners");
+    }
+
+    /**
+     * A form whose input listeners copy each value into an echo element, like a bound framework model.
+     */
+    private static String formPage() {
+        StringBuilder html = new StringBuilder("<html><body><form>");
+        for (int i = 0; i < FIELDS; i++) {
+            html.append("<input id='field-").append(i).append("' oninput=\"document.getElementById('echo-")
+                    .append(i).append("').textContent = this.value\">")
+                    .append("<span class='echo' id='echo-").append(i).append("'></span>");
+        }
+        html.append("</form></body></html>");
+        return "data:text/html;charset=utf-8," + URLEncoder.encode(html.toString(), StandardCharsets.UTF_8)
+                .replace("+", "%20");
+    }
+}
@@ -0,0 +1,152 @@
+package tests.benchmark;
+
+import config.Config;
+import core.InteractionContext;
+import flows.BookingFlow;
+import flows.LoginFlow;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import pages.HomePage;
+import pages.LoginPage;
+import pages.SearchPage;
+import pages.components.DatePickerComponent;
+import pages.components.HeaderComponent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+
+/**
+ * Measures allocation and construction time of the page objects a test builds, against an
+ * eager baseline in which every page and component gets its own ActionsEx and Waits and flows
+ * build all their pages up front. Runs against a stub driver, so no browser is needed.
+ */
+@Epic("Framework")
+@Feature("Benchmarks")
+public class PageConstructionBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(PageConstructionBenchmark.class);
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @BeforeClass
+    public void setUp() {
+        Config.loadConfig();
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    @Test(description = "Page graph construction per test: eager baseline versus shared context")
+    public void benchmarkPageConstruction() {
+        Result eager = measure(this::eagerPageGraph);
+        Result shared = measure(this::sharedPageGraph);
+        Result lazy = measure(this::lazyFlows);
+
+        report("eager baseline, own ActionsEx/Waits per page and component", eager);
+        report("shared context, all pages and components used", shared);
+        report("shared context, flows built but unused", lazy);
+        compare("shared context versus eager baseline", eager, shared);
+        // Eager flows built every page and component in their constructors, i.e. the eager graph
+        compare("unused lazy flows versus eager flows", eager, lazy);
+    }
+
+    /**
+     * The page graph as it was built before contexts were shared: each page and component
+     * constructs its own helpers, and components are built with their page.
+     */
+    private void eagerPageGraph(WebDriver driver) {
+        new LoginPage(InteractionContext.unshared(driver));
+        new HomePage(InteractionContext.unshared(driver));
+        new HeaderComponent(InteractionContext.unshared(driver));
+        new SearchPage(InteractionContext.unshared(driver));
+        new DatePickerComponent(InteractionContext.unshared(driver));
+    }
+
+    private void sharedPageGraph(WebDriver driver) {
+        new LoginPage(driver);
+        new HomePage(driver).getHeader();
+        new SearchPage(driver).getDatePicker();
+    }
+
+    private void lazyFlows(WebDriver driver) {
+        new LoginFlow(driver);
+        new BookingFlow(driver);
+    }
+
+    private Result measure(java.util.function.Consumer<WebDriver> test) {
+        for (int i = 0; i < WARMUP; i++) {
+            runTest(test);
+        }
+        long threadId = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runTest(test);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result((threads.getThreadAllocatedBytes(threadId) - bytes) / ITERATIONS,
+                elapsed / ITERATIONS);
+    }
+
+    /**
+     * One simulated test: a fresh session, the page graph, then the session is released.
+     */
+    private void runTest(java.util.function.Consumer<WebDriver> test) {
+        WebDriver driver = stubDriver();
+        test.accept(driver);
+        InteractionContext.release(driver);
+    }
+
+    private void report(String name, Result result) {
+        String summary = String.format("%s: %d bytes, %d ns per test", name, result.bytes, result.nanos);
+        logger.info(summary);
+        Allure.addAttachment("Benchmark: " + name, summary);
+    }
+
+    private void compare(String name, Result baseline, Result result) {
+        String summary = String.format("%s: %d bytes (%.0f%%) and %d ns less per test", name,
+                baseline.bytes - result.bytes, percent(baseline.bytes - result.bytes, baseline.bytes),
+                baseline.nanos - result.nanos);
+        logger.info(summary);
+        Allure.addAttachment("Benchmark: " + name, summary);
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100.0 * part / whole;
+    }
+
+    private static WebDriver stubDriver() {
+        return (WebDriver) Proxy.newProxyInstance(PageConstructionBenchmark.class.getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubDriver";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static final class Result {
+
+        private final long bytes;
+        private final long nanos;
+
+        private Result(long bytes, long nanos) {
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package tests.core;
+
+import base.DriverFactory;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import config.Config;
+import core.BrowserStateStore;
+import core.InteractionContext;
+import io.qameta.allure.*;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Checks that browser state snapshots saved on another application version are dropped
+ * instead of restored. Snapshots are written to a temporary state.snapshot.dir as a
+ * previous run would have left them; pages are generated data: URLs.
+ */
+@Epic("Framework")
+@Feature("Browser State")
+public class BrowserStateStoreTest {
+
+    private static final String SNAPSHOT = "search:stale";
+
+    private WebDriver driver;
+    private Path dir;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        Config.loadConfig();
+        dir = Files.createTempDirectory("state-snapshots");
+        System.setProperty("state.snapshot.dir", dir.toString());
+        System.setProperty("state.snapshot.persist", "true");
+        driver = DriverFactory.createDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        System.clearProperty("state.snapshot.dir");
+        System.clearProperty("state.snapshot.persist");
+        if (driver != null) {
+            InteractionContext.release(driver);
+            driver.quit();
+        }
+        DriverFactory.removeDriver();
+        DriverFactory.shutdown();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @BeforeMethod
+    public void openStartPage() {
+        BrowserStateStore.invalidate(SNAPSHOT);
+        driver.get(page("start", null));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void clearVersion() {
+        System.clearProperty("app.version");
+    }
+
+    @Test(description = "A saved snapshot of another app.version is deleted and not restored")
+    @Story("Versioning")
+    public void testConfiguredVersionMismatch() throws IOException {
+        writeSnapshot("1.0", page("search", null));
+        System.setProperty("app.version", "2.0");
+
+        Assert.assertFalse(BrowserStateStore.restore(driver, SNAPSHOT), "A snapshot of 1.0 should not be restored on 2.0");
+
+        Assert.assertEquals(driver.getTitle(), "start", "The browser should not leave the current page");
+        Assert.assertTrue(BrowserStateStore.get(SNAPSHOT).isEmpty(), "The snapshot should be dropped");
+        Assert.assertEquals(snapshotFiles(), 0, "The snapshot file should be deleted");
+    }
+
+    @Test(description = "Without app.version, a saved snapshot is checked against the page's version meta tag")
+    @Story("Versioning")
+    public void testPageVersionMismatch() throws IOException {
+        writeSnapshot("1.0", page("search", "2.0"));
+
+        Assert.assertFalse(BrowserStateStore.restore(driver, SNAPSHOT), "A snapshot of 1.0 should not be restored on a 2.0 page");
+
+        Assert.assertEquals(driver.getTitle(), "start", "The browser should be back on the page it was on");
+        Assert.assertEquals(snapshotFiles(), 0, "The snapshot file should be deleted");
+    }
+
+    @Test(description = "A flow whose snapshot is from another app.version runs again instead of restoring it")
+    @Story("Versioning")
+    public void testRestoreOrCaptureRunsFlowOnMismatch() throws IOException {
+        writeSnapshot("1.0", page("search", null));
+        System.setProperty("app.version", "2.0");
+        AtomicInteger runs = new AtomicInteger();
+
+        String result = BrowserStateStore.restoreOrCapture(driver, SNAPSHOT, d -> {
+            runs.incrementAndGet();
+            d.get(page("rebuilt", null));
+            return "ran";
+        });
+
+        Assert.assertEquals(result, "ran", "The flow should run when the snapshot is dropped");
+        Assert.assertEquals(runs.get(), 1);
+        Assert.assertEquals(BrowserStateStore.get(SNAPSHOT).orElseThrow().getAppVersion(), "2.0",
+                "The state should be captured again on the current version");
+    }
+
+    @Test(description = "A saved snapshot of the current app.version is restored")
+    @Story("Versioning")
+    public void testMatchingVersionIsRestored() throws IOException {
+        writeSnapshot("2.0", page("search", null));
+        System.setProperty("app.version", "2.0");
+
+        Assert.assertTrue(BrowserStateStore.restore(driver, SNAPSHOT), "A snapshot of the current version should be restored");
+        Assert.assertEquals(driver.getTitle(), "search", "The browser should be on the saved page");
+    }
+
+    private void writeSnapshot(String appVersion, String url) throws IOException {
+        JsonObject state = new JsonObject();
+        state.addProperty("name", SNAPSHOT);
+        state.addProperty("appVersion", appVersion);
+        state.addProperty("url", url);
+        state.add("cookies", new JsonArray());
+        state.add("localStorage", new JsonObject());
+        state.add("sessionStorage", new JsonObject());
+        state.addProperty("capturedAt", System.currentTimeMillis());
+        // Named the way BrowserStateStore names its files
+        String fileName = SNAPSHOT.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + Integer.toHexString(SNAPSHOT.hashCode());
+        Files.writeString(dir.resolve(fileName + ".json"), state.toString(), StandardCharsets.UTF_8);
+    }
+
+    private long snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static String page(String title, String version) {
+        String meta = version == null ? "" : "<meta name='app-version' content='" + version + "'>";
+        String html = "<html><head><title>" + title + "</title>" + meta + "</head><body>" + title + "</body></html>";
+        return "data:text/html;charset=utf-8," + URLEncoder.encode(html, StandardCharsets.UTF_8)
+                .replace("+", "%20");
+    }
+}
@@ -0,0 +1,107 @@
+package tests.core;
+
+import base.DriverFactory;
+import config.Config;
+import core.ActionsEx;
+import core.ElementCache;
+import core.InteractionContext;
+import io.qameta.allure.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checks when a caching ActionsEx reuses resolved elements and when it resolves them again.
+ * Runs against a generated data: URL page, so no application under test is needed.
+ */
+@Epic("Framework")
+@Feature("Element Cache")
+public class ElementCacheTest {
+
+    private static final By note = By.id("note");
+
+    private WebDriver driver;
+    private ActionsEx actions;
+
+    @BeforeClass
+    public void setUp() {
+        Config.loadConfig();
+        driver = DriverFactory.createDriver();
+        actions = InteractionContext.forDriver(driver).getActions();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            InteractionContext.release(driver);
+            driver.quit();
+        }
+        DriverFactory.removeDriver();
+        DriverFactory.shutdown();
+    }
+
+    @BeforeMethod
+    public void openPage() {
+        actions.markNavigated();
+        driver.get(page());
+    }
+
+    @Test(description = "Typing into an element and reading it back resolves the element once")
+    @Story("Reuse")
+    public void testTypeThenReadHitsCache() {
+        ElementCache cache = new ElementCache("ElementCacheTest.typeThenRead");
+        ActionsEx cached = actions.withCache(cache);
+
+        cached.type(note, "cached text");
+        String text = cached.getText(note);
+
+        Assert.assertEquals(text, "cached text");
+        Assert.assertEquals(cache.getMisses(), 1, "Only the first lookup should resolve the element");
+        Assert.assertEquals(cache.getHits(), 1, "Reading back after typing should reuse the element");
+    }
+
+    @Test(description = "A navigation drops the cached elements")
+    @Story("Invalidation")
+    public void testNavigationClearsCache() {
+        ElementCache cache = new ElementCache("ElementCacheTest.navigation");
+        ActionsEx cached = actions.withCache(cache);
+
+        cached.getText(note);
+        actions.markNavigated();
+        driver.get(page());
+        cached.getText(note);
+
+        Assert.assertEquals(cache.getHits(), 0, "Elements from before the navigation should not be reused");
+        Assert.assertEquals(cache.getMisses(), 2);
+        Assert.assertEquals(cache.getStale(), 0, "The entry should be dropped before it is used");
+    }
+
+    @Test(description = "A replaced element is detected as stale and resolved again")
+    @Story("Invalidation")
+    public void testStaleElementIsResolvedAgain() {
+        ElementCache cache = new ElementCache("ElementCacheTest.stale");
+        ActionsEx cached = actions.withCache(cache);
+
+        cached.getText(note);
+        cached.executeScript("document.getElementById('note').outerHTML ="
+                + " '<div id=\"note\" contenteditable=\"true\">replaced</div>';");
+        String text = cached.getText(note);
+
+        Assert.assertEquals(text, "replaced", "The new element should be read");
+        Assert.assertEquals(cache.getHits(), 1, "The second read should start from the cached element");
+        Assert.assertEquals(cache.getStale(), 1, "The cached element should be found stale and resolved again");
+    }
+
+    private static String page() {
+        String html = "<html><body><div id='note' contenteditable='true'></div></body></html>";
+        return "data:text/html;charset=utf-8," + URLEncoder.encode(html, StandardCharsets.UTF_8)
+                .replace("+", "%20");
+    }
+}
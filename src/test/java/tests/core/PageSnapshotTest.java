@@ -0,0 +1,126 @@
+package tests.core;
+
+import base.DriverFactory;
+import config.Config;
+import core.InteractionContext;
+import core.PageSnapshot;
+import io.qameta.allure.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pages.BasePage;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checks what a page snapshot captures and when it is captured again.
+ * Runs against a generated data: URL page, so no application under test is needed.
+ */
+@Epic("Framework")
+@Feature("Page Snapshot")
+public class PageSnapshotTest {
+
+    private WebDriver driver;
+    private CounterPage page;
+
+    @BeforeClass
+    public void setUp() {
+        Config.loadConfig();
+        driver = DriverFactory.createDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            InteractionContext.release(driver);
+            driver.quit();
+        }
+        DriverFactory.removeDriver();
+        DriverFactory.shutdown();
+    }
+
+    @BeforeMethod
+    public void openPage() {
+        page = new CounterPage(InteractionContext.forDriver(driver));
+        page.navigateTo(html());
+    }
+
+    @Test(description = "A snapshot captures count, visibility, text and attributes of each element")
+    @Story("Capture")
+    public void testCapture() {
+        PageSnapshot snapshot = page.snapshot();
+
+        Assert.assertEquals(snapshot.getText("counter"), "0");
+        Assert.assertEquals(snapshot.getAttribute("counter", "data-state"), "idle");
+        Assert.assertEquals(snapshot.getCount("items"), 3);
+        Assert.assertTrue(snapshot.isPresent("hidden"));
+        Assert.assertFalse(snapshot.isVisible("hidden"));
+        Assert.assertEquals(snapshot.getText("hidden"), "", "Hidden elements should have empty text");
+        Assert.assertFalse(snapshot.isPresent("missing"));
+        Assert.assertNull(snapshot.getText("missing"), "Absent elements should have no text");
+    }
+
+    @Test(description = "A snapshot is reused until an action changes the page, then captured again")
+    @Story("Invalidation")
+    public void testSnapshotGoesStaleAfterAction() {
+        PageSnapshot before = page.snapshot();
+        Assert.assertSame(page.snapshot(), before, "Snapshot should be reused while the page is unchanged");
+
+        page.increment();
+
+        Assert.assertFalse(before.isCurrent(), "Snapshot should be stale after a click");
+        Assert.assertThrows(IllegalStateException.class, () -> before.getText("counter"));
+        PageSnapshot after = page.snapshot();
+        Assert.assertNotSame(after, before, "Snapshot should be captured again");
+        Assert.assertEquals(after.getText("counter"), "1");
+        Assert.assertEquals(after.getAttribute("counter", "data-state"), "clicked");
+    }
+
+    private static String html() {
+        String html = "<html><body>"
+                + "<span id='counter' data-state='idle'>0</span>"
+                + "<button id='increment' onclick=\"var c = document.getElementById('counter');"
+                + " c.textContent = Number(c.textContent) + 1; c.setAttribute('data-state', 'clicked');\">+</button>"
+                + "<ul><li class='item'>a</li><li class='item'>b</li><li class='item'>c</li></ul>"
+                + "<div id='hidden' style='display: none'>secret</div>"
+                + "</body></html>";
+        return "data:text/html;charset=utf-8," + URLEncoder.encode(html, StandardCharsets.UTF_8)
+                .replace("+", "%20");
+    }
+
+    private static final class CounterPage extends BasePage {
+
+        private final By counter = By.id("counter");
+        private final By increment = By.id("increment");
+
+        private CounterPage(InteractionContext context) {
+            super(context);
+        }
+
+        @Override
+        protected Map<String, By> snapshotLocators() {
+            Map<String, By> locators = new LinkedHashMap<>();
+            locators.put("counter", counter);
+            locators.put("items", By.cssSelector(".item"));
+            locators.put("hidden", By.id("hidden"));
+            locators.put("missing", By.id("missing"));
+            return locators;
+        }
+
+        @Override
+        public boolean isPageLoaded() {
+            return isVisibleInSnapshot("counter", counter);
+        }
+
+        private void increment() {
+            actions.click(increment);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package tests.data;
+
+import data.DataRows;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Epic("Framework")
+@Feature("Test Data")
+public class DataRowsTest {
+
+    private Path dir;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("data-rows");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "CSV rows keep quoted commas, doubled quotes and line breaks")
+    @Story("CSV")
+    public void testCsvQuoting() throws IOException {
+        String file = write("quoted.csv", "name,notes\n"
+                + "\"Smith, John\",\"said \"\"hi\"\"\"\n"
+                + "Jane,\"first line\nsecond line\"\n"
+                + "\n"
+                + "Bob,\n");
+
+        List<Map<String, String>> rows = toList(DataRows.csv(file));
+
+        Assert.assertEquals(rows.size(), 3, "Blank lines should be skipped");
+        Assert.assertEquals(rows.get(0).get("name"), "Smith, John");
+        Assert.assertEquals(rows.get(0).get("notes"), "said \"hi\"");
+        Assert.assertEquals(rows.get(1).get("notes"), "first line\nsecond line");
+        Assert.assertEquals(rows.get(2).get("notes"), "", "Trailing empty field should be kept");
+    }
+
+    @Test(description = "CSV header loses a leading byte order mark")
+    @Story("CSV")
+    public void testCsvByteOrderMark() throws IOException {
+        String file = write("bom.csv", "\uFEFFid,room\n1,Deluxe\n");
+
+        Map<String, String> row = toList(DataRows.csv(file)).get(0);
+
+        Assert.assertEquals(row.get("id"), "1", "First column should be found without the BOM");
+        Assert.assertEquals(row.get("room"), "Deluxe");
+    }
+
+    @Test(description = "CSV fails on an unterminated quoted field")
+    @Story("CSV")
+    public void testCsvUnterminatedQuote() throws IOException {
+        String file = write("broken.csv", "id,notes\n1,\"never closed\n");
+
+        Assert.assertThrows(UncheckedIOException.class, () -> toList(DataRows.csv(file)));
+    }
+
+    @Test(description = "Range selects rows by file position, independent of filters")
+    @Story("Selection")
+    public void testRange() throws IOException {
+        String file = numbers("range.jsonl", 10);
+
+        Assert.assertEquals(ids(DataRows.jsonLines(file, Map.class).range(3, 6)), List.of(3, 4, 5));
+        Assert.assertEquals(ids(DataRows.jsonLines(file, Map.class)
+                .filter(row -> ((Number) row.get("id")).intValue() % 2 == 0)
+                .range(3, 6)), List.of(4), "Filter should not shift the range");
+        Assert.assertEquals(ids(DataRows.jsonLines(file, Map.class).range(8, 20)), List.of(8, 9));
+        Assert.assertThrows(IllegalArgumentException.class, () -> DataRows.jsonLines(file, Map.class).range(5, 2));
+    }
+
+    @Test(description = "Shards split the rows without overlap or gaps")
+    @Story("Selection")
+    public void testShards() throws IOException {
+        String file = numbers("shards.jsonl", 10);
+
+        List<Integer> all = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            all.addAll(ids(DataRows.jsonLines(file, Map.class).shard(shard, 3)));
+        }
+        all.sort(Comparator.naturalOrder());
+
+        Assert.assertEquals(ids(DataRows.jsonLines(file, Map.class).shard(1, 3)), List.of(1, 4, 7));
+        Assert.assertEquals(all, List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        Assert.assertThrows(IllegalArgumentException.class, () -> DataRows.jsonLines(file, Map.class).shard(3, 3));
+    }
+
+    @Test(description = "Gzipped files are decompressed while they are read")
+    @Story("Formats")
+    public void testGzip() throws IOException {
+        Path file = dir.resolve("rows.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write("id,room\n1,Deluxe\n2,Suite\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<Map<String, String>> rows = toList(DataRows.csv(file.toString()));
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(1).get("room"), "Suite");
+    }
+
+    @Test(description = "JSON arrays are read from a top-level member")
+    @Story("Formats")
+    public void testJsonArrayMember() throws IOException {
+        String file = write("rows.json", "{\"meta\": {\"skip\": [1, 2]}, \"rows\": [{\"id\": 0}, {\"id\": 1}]}");
+
+        Assert.assertEquals(ids(DataRows.json(file, "rows", Map.class)), List.of(0, 1));
+    }
+
+    @Test(description = "Parameters come one row per invocation")
+    @Story("Data Provider")
+    public void testAsParameters() throws IOException {
+        String file = numbers("params.jsonl", 2);
+
+        Iterator<Object[]> parameters = DataRows.jsonLines(file, Map.class).asParameters();
+
+        Assert.assertEquals(parameters.next().length, 1);
+        Assert.assertTrue(parameters.hasNext());
+        parameters.next();
+        Assert.assertFalse(parameters.hasNext());
+    }
+
+    private String write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8).toString();
+    }
+
+    private String numbers(String name, int count) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            lines.append("{\"id\": ").append(i).append("}\n");
+        }
+        return write(name, lines.toString());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static List<Integer> ids(DataRows<Map> rows) {
+        List<Integer> ids = new ArrayList<>();
+        for (Map row : rows) {
+            ids.add(((Number) row.get("id")).intValue());
+        }
+        return ids;
+    }
+
+    private static <T> List<T> toList(DataRows<T> rows) {
+        List<T> list = new ArrayList<>();
+        rows.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,213 @@
+package tests.data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import data.Booking;
+import data.TestData;
+import data.TestDataRepository;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Epic("Framework")
+@Feature("Test Data")
+public class TestDataTest {
+
+    private Path dir;
+    private Path file;
+    private long writes;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("test-data");
+        file = dir.resolve("booking.json");
+        System.setProperty("testdata.file", file.toString());
+        // Check the file on every lookup so rewrites are picked up at once
+        System.setProperty("testdata.reload.check.ms", "0");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        System.clearProperty("testdata.file");
+        System.clearProperty("testdata.reload.check.ms");
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @BeforeMethod
+    public void writeData() throws IOException {
+        JsonArray bookings = new JsonArray();
+        bookings.add(booking(1, "Deluxe", "2026-03-01", "2026-03-05"));
+        bookings.add(booking(2, "Suite", "2026-03-03", "2026-03-04"));
+        bookings.add(booking(3, "Deluxe", "2026-03-01", "2026-03-05"));
+        bookings.add(booking(4, "Standard", "2026-03-10", "2026-03-12"));
+        bookings.add(booking(1, "Standard", "2026-04-01", "2026-04-02"));
+        JsonArray users = new JsonArray();
+        users.add(user("alice", "admin"));
+        users.add(user("bob", "guest"));
+        users.add(user("alice", "guest"));
+        write(bookings, users);
+    }
+
+    @Test(description = "Bookings are found by ID and the first booking with an ID wins")
+    @Story("Lookups")
+    public void testBookingById() {
+        Assert.assertEquals(TestData.getBooking(2).getRoomType(), "Suite");
+        Assert.assertEquals(TestData.getBooking(1).getRoomType(), "Deluxe", "Duplicate IDs should keep the first booking");
+        Assert.assertNull(TestData.getBooking(42));
+    }
+
+    @Test(description = "ID lookups find every booking when the IDs collide in the index")
+    @Story("Lookups")
+    public void testBookingByIdWithCollidingIds() throws IOException {
+        // A hundred widely spaced IDs, negative ones included, fill the index enough that lookups probe past other keys
+        JsonArray bookings = new JsonArray();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = -50; i < 50; i++) {
+            ids.add(i * 4096);
+            bookings.add(booking(i * 4096, "Room " + i, "2026-03-01", "2026-03-02"));
+        }
+        write(bookings, new JsonArray());
+
+        for (int id : ids) {
+            Booking booking = TestData.getBooking(id);
+            Assert.assertNotNull(booking, "Booking " + id + " should be found");
+            Assert.assertEquals(booking.getId(), id);
+        }
+        Assert.assertNull(TestData.getBooking(4096 * 50));
+        Assert.assertNull(TestData.getBooking(1));
+    }
+
+    @Test(description = "Users are found by username and the first user with a name wins")
+    @Story("Lookups")
+    public void testUserByUsername() {
+        Assert.assertEquals(TestData.getUser("bob").getRole(), "guest");
+        Assert.assertEquals(TestData.getUser("alice").getRole(), "admin", "Duplicate usernames should keep the first user");
+        Assert.assertNull(TestData.getUser("nobody"));
+    }
+
+    @Test(description = "Bookings are grouped by room type and by stay")
+    @Story("Lookups")
+    public void testRoomTypeAndStay() {
+        TestDataRepository repository = TestData.repository();
+
+        Assert.assertEquals(ids(repository.getBookingsByRoomType("Deluxe")), List.of(1, 3));
+        Assert.assertEquals(ids(repository.getBookingsByRoomType("Standard")), List.of(4, 1));
+        Assert.assertTrue(repository.getBookingsByRoomType("Penthouse").isEmpty());
+        Assert.assertEquals(ids(repository.getBookingsByStay(LocalDate.parse("2026-03-01"),
+                LocalDate.parse("2026-03-05"))), List.of(1, 3));
+        Assert.assertTrue(repository.getBookingsByStay(LocalDate.parse("2026-03-01"),
+                LocalDate.parse("2026-03-04")).isEmpty());
+    }
+
+    @Test(description = "Check-in range queries include both ends and return bookings in check-in order")
+    @Story("Lookups")
+    public void testCheckInRange() {
+        TestDataRepository repository = TestData.repository();
+
+        Assert.assertEquals(ids(repository.getBookingsCheckingInBetween(LocalDate.parse("2026-03-01"),
+                LocalDate.parse("2026-03-10"))), List.of(1, 3, 2, 4));
+        Assert.assertEquals(ids(repository.getBookingsCheckingInBetween(LocalDate.parse("2026-03-02"),
+                LocalDate.parse("2026-03-09"))), List.of(2));
+        Assert.assertTrue(repository.getBookingsCheckingInBetween(LocalDate.parse("2027-01-01"),
+                LocalDate.parse("2027-12-31")).isEmpty());
+    }
+
+    @Test(description = "Deprecated JSON lookups return copies of the matched item")
+    @Story("Lookups")
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedJsonLookups() {
+        JsonObject booking = TestData.getBookingById(2);
+        Assert.assertEquals(booking.get("roomType").getAsString(), "Suite");
+        booking.addProperty("roomType", "Changed");
+
+        Assert.assertEquals(TestData.getBookingById(2).get("roomType").getAsString(), "Suite",
+                "Changing a returned item should not change the data");
+        Assert.assertEquals(TestData.getUserByUsername("alice").get("role").getAsString(), "admin");
+        Assert.assertNull(TestData.getBookingById(42));
+        Assert.assertNull(TestData.getUserByUsername("nobody"));
+    }
+
+    @Test(description = "The data is reloaded when the file changes")
+    @Story("Reload")
+    public void testReloadAfterChange() throws IOException {
+        TestDataRepository before = TestData.repository();
+        Assert.assertSame(TestData.repository(), before, "An unchanged file should not be parsed again");
+
+        JsonArray bookings = new JsonArray();
+        bookings.add(booking(7, "Penthouse", "2026-05-01", "2026-05-03"));
+        write(bookings, new JsonArray());
+
+        TestDataRepository after = TestData.repository();
+        Assert.assertNotSame(after, before, "A changed file should be parsed again");
+        Assert.assertEquals(TestData.getBooking(7).getRoomType(), "Penthouse");
+        Assert.assertNull(TestData.getBooking(2), "Bookings removed from the file should be gone");
+    }
+
+    @Test(description = "The last good data is kept while the file cannot be parsed")
+    @Story("Reload")
+    public void testKeepsLastGoodData() throws IOException {
+        TestDataRepository before = TestData.repository();
+
+        writeRaw("{\"bookings\": [");
+
+        Assert.assertSame(TestData.repository(), before, "A broken file should not replace the loaded data");
+        Assert.assertEquals(TestData.getBooking(2).getRoomType(), "Suite");
+    }
+
+    private void write(JsonArray bookings, JsonArray users) throws IOException {
+        JsonObject document = new JsonObject();
+        document.add("bookings", bookings);
+        document.add("users", users);
+        writeRaw(document.toString());
+    }
+
+    private void writeRaw(String content) throws IOException {
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        // A distinct modification time per write, so equal-sized rewrites are still seen as changes
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_700_000_000_000L + ++writes * 60_000L));
+    }
+
+    private static JsonObject booking(int id, String roomType, String checkIn, String checkOut) {
+        JsonObject booking = new JsonObject();
+        booking.addProperty("id", id);
+        booking.addProperty("firstName", "Guest");
+        booking.addProperty("lastName", "No. " + id);
+        booking.addProperty("roomType", roomType);
+        booking.addProperty("checkInDate", checkIn);
+        booking.addProperty("checkOutDate", checkOut);
+        booking.addProperty("guests", 2);
+        return booking;
+    }
+
+    private static JsonObject user(String username, String role) {
+        JsonObject user = new JsonObject();
+        user.addProperty("username", username);
+        user.addProperty("password", "secret");
+        user.addProperty("role", role);
+        return user;
+    }
+
+    private static List<Integer> ids(List<Booking> bookings) {
+        List<Integer> ids = new ArrayList<>();
+        for (Booking booking : bookings) {
+            ids.add(booking.getId());
+        }
+        return ids;
+    }
+}